@@ -0,0 +1,96 @@
+package com.medisync.MediSync.dto;
+
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.AppointmentDuration;
+import com.medisync.MediSync.entity.enums.AppointmentStatus;
+import com.medisync.MediSync.entity.enums.Gender;
+import com.medisync.MediSync.entity.enums.Specialization;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoMappingBenchmark {
+
+    private Doctor doctor;
+    private Patient patient;
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Department department = Department.builder()
+                .id(1L)
+                .name("Cardiology")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        doctor = Doctor.builder()
+                .id(1L)
+                .firstName("John").lastName("Doe")
+                .user(User.builder().id(1L).email("doctor@test.com").isActive(true).build())
+                .department(department)
+                .specialization(Specialization.CARDIOLOGY)
+                .appointmentDuration(AppointmentDuration.MINUTES_30)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        patient = Patient.builder()
+                .id(2L)
+                .firstName("Jane").lastName("Doe")
+                .user(User.builder().id(2L).email("patient@test.com").isActive(true).build())
+                .dateOfBirth(LocalDate.of(1990, 5, 17))
+                .gender(Gender.FEMALE)
+                .phoneNumber("0000000000")
+                .city("Bucharest")
+                .country("Romania")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        appointment = Appointment.builder()
+                .id(100L)
+                .doctor(doctor)
+                .patient(patient)
+                .status(AppointmentStatus.COMPLETED)
+                .appointmentTime(now.minusDays(1))
+                .reason("Checkup")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        appointment.setMedicalRecord(MedicalRecord.builder()
+                .id(10L)
+                .appointment(appointment)
+                .diagnosis("Healthy")
+                .treatmentPlan("None")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Benchmark
+    public AppointmentDto mapAppointment() {
+        return AppointmentDto.mapToDto(appointment);
+    }
+
+    @Benchmark
+    public PatientDto mapPatient() {
+        return PatientDto.mapToDto(patient);
+    }
+
+    @Benchmark
+    public DoctorDto mapDoctor() {
+        return DoctorDto.mapToDto(doctor);
+    }
+}
@@ -0,0 +1,279 @@
+package com.medisync.MediSync.load;
+
+import com.medisync.MediSync.MediSyncApplication;
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.AppointmentDuration;
+import com.medisync.MediSync.entity.enums.Gender;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.entity.enums.Specialization;
+import com.medisync.MediSync.repository.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives concurrent login and booking traffic against an in-process MediSync, once with the default platform-thread
+ * Tomcat pool and once with the {@code virtual-threads} profile, and prints throughput and latency percentiles for
+ * both. Both runs use the same Hikari pool size ({@code load.poolSize}), overriding the profile's own, so the
+ * difference between them comes from the thread model alone.
+ * <p>
+ * {@code mvn -Pbenchmark -DskipTests test-compile exec:exec@load-test -Dload.clients=200 -Dload.seconds=30 -Dload.poolSize=20}
+ * <p>
+ * Runs against an in-memory H2 database by default; Spring properties passed as program arguments override that,
+ * e.g. {@code --spring.datasource.url=jdbc:postgresql://localhost:5432/medisync_load}.
+ */
+public class BookingLoginLoadTest {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 500;
+    private static final int BOOKING_DAYS = 60;
+    private static final double LOGIN_SHARE = 0.2;
+    private static final String PASSWORD = "load-test-password";
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 20);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+
+    public static void main(String[] args) throws Exception {
+        List<String> reports = new ArrayList<>();
+        for (String mode : List.of("platform-threads", "virtual-threads")) {
+            reports.add(run(mode, args));
+        }
+
+        System.out.printf("%n%d clients, %d%% logins, %ds measured%n", CLIENTS, (int) (LOGIN_SHARE * 100), MEASUREMENT.toSeconds());
+        reports.forEach(System.out::print);
+    }
+
+    private static String run(String mode, String[] args) throws Exception {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "off");
+        properties.put("application.secret-key", "load-test-secret-key-for-signing-jwt-tokens-0123456789");
+        properties.put("spring.profiles.active", mode.equals("virtual-threads") ? "virtual-threads" : "default");
+        properties.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(POOL_SIZE));
+        properties.put("spring.datasource.hikari.minimum-idle", String.valueOf(POOL_SIZE));
+        for (String arg : args) {
+            String[] property = arg.replaceFirst("^--", "").split("=", 2);
+            properties.put(property[0], property.length > 1 ? property[1] : "");
+        }
+
+        String[] springArgs = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(MediSyncApplication.class, springArgs)) {
+            Seed seed = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadClient client = new LoadClient(URI.create("http://localhost:" + port), seed);
+
+            client.drive(WARMUP);
+            client.reset();
+            client.drive(MEASUREMENT);
+
+            return client.report(mode,
+                    context.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size"));
+        }
+    }
+
+    private static Seed seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        DoctorRepository doctorRepository = context.getBean(DoctorRepository.class);
+        PatientRepository patientRepository = context.getBean(PatientRepository.class);
+        DoctorScheduleRepository doctorScheduleRepository = context.getBean(DoctorScheduleRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        Department department = context.getBean(DepartmentRepository.class).save(Department.builder()
+                .name("Load test")
+                .description("Load test department")
+                .build());
+
+        List<Long> doctorIds = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = doctorRepository.save(Doctor.builder()
+                    .user(userRepository.save(user("doctor" + i + "@load.test", passwordHash, Role.DOCTOR)))
+                    .department(department)
+                    .firstName("Doctor").lastName(String.valueOf(i))
+                    .specialization(Specialization.CARDIOLOGY)
+                    .appointmentDuration(AppointmentDuration.MINUTES_30)
+                    .build());
+            doctorScheduleRepository.saveAll(Arrays.stream(DayOfWeek.values())
+                    .map(day -> DoctorSchedule.builder()
+                            .doctor(doctor)
+                            .dayOfWeek(day)
+                            .startTime(LocalTime.of(8, 0))
+                            .endTime(LocalTime.of(20, 0))
+                            .build())
+                    .toList());
+            doctorIds.add(doctor.getId());
+        }
+
+        List<Long> patientIds = new ArrayList<>();
+        for (int i = 0; i < PATIENTS; i++) {
+            Patient patient = patientRepository.save(Patient.builder()
+                    .user(userRepository.save(user("patient" + i + "@load.test", passwordHash, Role.PATIENT)))
+                    .firstName("Patient").lastName(String.valueOf(i))
+                    .dateOfBirth(LocalDate.of(1990, 1, 1))
+                    .gender(Gender.OTHER)
+                    .phoneNumber("0000000000")
+                    .build());
+            patientIds.add(patient.getId());
+        }
+
+        return new Seed(doctorIds, patientIds);
+    }
+
+    private static User user(String email, String passwordHash, Role role) {
+        return User.builder()
+                .email(email)
+                .password(passwordHash)
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+
+    private static final class LoadClient {
+
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        private final URI baseUri;
+        private final Seed seed;
+        private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new LinkedHashMap<>();
+        private final Map<String, AtomicLong> failures = new LinkedHashMap<>();
+        private final String[] tokens = new String[PATIENTS];
+
+        private LoadClient(URI baseUri, Seed seed) throws Exception {
+            this.baseUri = baseUri;
+            this.seed = seed;
+            for (String operation : List.of("login", "booking")) {
+                latencies.put(operation, new ConcurrentLinkedQueue<>());
+                failures.put(operation, new AtomicLong());
+            }
+            for (int i = 0; i < PATIENTS; i++) {
+                tokens[i] = login(i).body().replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+            }
+        }
+
+        void drive(Duration duration) throws InterruptedException {
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    clients.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            int patient = ThreadLocalRandom.current().nextInt(PATIENTS);
+                            boolean login = ThreadLocalRandom.current().nextDouble() < LOGIN_SHARE;
+                            timed(login ? "login" : "booking", () -> login ? login(patient) : book(patient));
+                        }
+                        return null;
+                    });
+                }
+            }
+        }
+
+        void reset() {
+            latencies.values().forEach(ConcurrentLinkedQueue::clear);
+            failures.values().forEach(counter -> counter.set(0));
+        }
+
+        String report(String mode, String poolSize) {
+            StringBuilder report = new StringBuilder(String.format("%n%s, %s database connections%n", mode, poolSize));
+            latencies.forEach((operation, samples) -> {
+                long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+                report.append(String.format("  %-8s %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms  failed %d%n",
+                        operation,
+                        sorted.length / (double) MEASUREMENT.toSeconds(),
+                        percentile(sorted, 0.50),
+                        percentile(sorted, 0.99),
+                        percentile(sorted, 1.0),
+                        failures.get(operation).get()));
+            });
+            return report.toString();
+        }
+
+        private void timed(String operation, Request request) {
+            long start = System.nanoTime();
+            try {
+                int status = request.send().statusCode();
+                // A 409 is a slot that someone else booked first, which is a served request like any other.
+                if (status >= 400 && status != 409) {
+                    failures.get(operation).incrementAndGet();
+                }
+            } catch (Exception e) {
+                failures.get(operation).incrementAndGet();
+            }
+            latencies.get(operation).add(System.nanoTime() - start);
+        }
+
+        private HttpResponse<String> login(int patient) throws Exception {
+            return send(HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"patient" + patient + "@load.test\",\"password\":\"" + PASSWORD + "\"}")));
+        }
+
+        private HttpResponse<String> book(int patient) throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDateTime appointmentTime = LocalDate.now()
+                    .plusDays(1 + random.nextInt(BOOKING_DAYS))
+                    .atTime(LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(24)));
+            Long doctorId = seed.doctorIds().get(random.nextInt(DOCTORS));
+
+            return send(HttpRequest.newBuilder(baseUri.resolve("/api/appointments"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + tokens[patient])
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"patientId\":" + seed.patientIds().get(patient) + ",\"doctorId\":" + doctorId
+                                    + ",\"appointmentTime\":\"" + appointmentTime + "\",\"reason\":\"Load test\"}")));
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            return httpClient.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private record Seed(List<Long> doctorIds, List<Long> patientIds) {
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<String> send() throws Exception;
+    }
+}
@@ -0,0 +1,74 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.invalidation.LocalInvalidationBus;
+import com.medisync.MediSync.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtServiceBenchmark {
+
+    // More distinct tokens than the verified-token cache holds, so cycling through them always misses it.
+    private static final int UNCACHED_TOKENS = 20_000;
+
+    private JwtService jwtService;
+    private AuthenticatedUser user;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.setSecretKey("benchmark-secret-key-for-signing-jwt-tokens-0123456789");
+
+        jwtService = new JwtService(properties, new TokenRevocationRegistry(mock(UserRepository.class), new LocalInvalidationBus()));
+        user = AuthenticatedUser.builder()
+                .userId(1L)
+                .email("doctor@test.com")
+                .role(Role.DOCTOR)
+                .doctorId(1L)
+                .build();
+        token = jwtService.generateToken(user);
+
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = jwtService.generateToken(AuthenticatedUser.builder()
+                    .userId((long) i)
+                    .email("patient" + i + "@test.com")
+                    .role(Role.PATIENT)
+                    .patientId((long) i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public boolean parseAndValidateCached() {
+        Claims claims = jwtService.parseClaims(token);
+        return jwtService.isTokenValid(claims);
+    }
+
+    @Benchmark
+    public boolean parseAndValidateUncached() {
+        String uncachedToken = uncachedTokens[next];
+        next = (next + 1) % UNCACHED_TOKENS;
+        Claims claims = jwtService.parseClaims(uncachedToken);
+        return jwtService.isTokenValid(claims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+}
@@ -0,0 +1,150 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.dto.AppointmentBookDto;
+import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.AppointmentDuration;
+import com.medisync.MediSync.entity.enums.Specialization;
+import com.medisync.MediSync.invalidation.LocalInvalidationBus;
+import com.medisync.MediSync.outbox.AppointmentEventOutbox;
+import com.medisync.MediSync.repository.*;
+import com.medisync.MediSync.service.SlotAvailabilityIndex.DayOccupancy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SchedulingBenchmark {
+
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final LocalTime DAY_END = LocalTime.of(20, 0);
+
+    @Param({"MINUTES_15", "MINUTES_30", "MINUTES_60"})
+    private AppointmentDuration duration;
+
+    private LocalDate date;
+    private List<LocalDateTime> bookedTimes;
+    private SlotTemplate template;
+    private DoctorSchedule schedule;
+    private LocalDateTime requestedTime;
+    private AppointmentBookDto bookDto;
+    private AppointmentService appointmentService;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        bookedTimes = new ArrayList<>();
+        for (LocalTime time = DAY_START; time.isBefore(DAY_END); time = time.plusMinutes(2L * duration.getMinutes())) {
+            bookedTimes.add(LocalDateTime.of(date, time));
+        }
+
+        template = SlotTemplate.of(DAY_START, DAY_END, duration.getMinutes());
+
+        Department department = Department.builder().id(1L).name("Cardiology").build();
+        Doctor doctor = Doctor.builder()
+                .id(1L)
+                .firstName("John").lastName("Doe")
+                .user(User.builder().id(1L).email("doctor@test.com").isActive(true).build())
+                .department(department)
+                .specialization(Specialization.CARDIOLOGY)
+                .appointmentDuration(duration)
+                .build();
+        Patient patient = Patient.builder()
+                .id(2L)
+                .firstName("Jane").lastName("Doe")
+                .user(User.builder().id(2L).email("patient@test.com").isActive(true).build())
+                .build();
+        schedule = DoctorSchedule.builder()
+                .doctor(doctor)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(DAY_START)
+                .endTime(DAY_END)
+                .build();
+
+        requestedTime = LocalDateTime.of(date, DAY_END.minusMinutes(duration.getMinutes()));
+        bookDto = new AppointmentBookDto();
+        bookDto.setDoctorId(1L);
+        bookDto.setPatientId(2L);
+        bookDto.setAppointmentTime(requestedTime);
+        bookDto.setReason("Checkup");
+
+        AppointmentRepository appointmentRepository = stub(AppointmentRepository.class);
+        PatientRepository patientRepository = stub(PatientRepository.class);
+        DoctorRepository doctorRepository = stub(DoctorRepository.class);
+        DoctorScheduleRepository doctorScheduleRepository = stub(DoctorScheduleRepository.class);
+
+        when(doctorRepository.existsByIdAndUserIsActive(1L, true)).thenReturn(true);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(patientRepository.findById(2L)).thenReturn(Optional.of(patient));
+        when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY)).thenReturn(Optional.of(schedule));
+        when(appointmentRepository.findBookedTimesByDoctorId(any(), any(), any())).thenReturn(bookedTimes);
+        when(appointmentRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        appointmentService = new AppointmentService(
+                appointmentRepository,
+                patientRepository,
+                doctorRepository,
+                doctorScheduleRepository,
+                stub(MedicalRecordRepository.class),
+                new SlotAvailabilityIndex(new LocalInvalidationBus()),
+                stub(AppointmentEventOutbox.class),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    // Stub-only mocks do not record invocations, so the measured calls neither pay for nor accumulate Mockito's history.
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    @Benchmark
+    public List<LocalTime> generateSlots() {
+        return DayOccupancy.of(DAY_START, DAY_END, duration.getMinutes(), bookedTimes).availableSlots(null);
+    }
+
+    @Benchmark
+    public List<LocalTime> availableSlotsFromTemplate() {
+        return DayOccupancy.of(template, bookedTimes).availableSlots(null);
+    }
+
+    @Benchmark
+    public List<LocalTime> firstAvailableSlotFromTemplate() {
+        return DayOccupancy.of(template, bookedTimes).availableSlots(DAY_START.plusHours(6), 1);
+    }
+
+    @Benchmark
+    public List<LocalTime> availableSlotsFromIndex() {
+        return appointmentService.getAvailableSlots(1L, date);
+    }
+
+    @Benchmark
+    public LocalDateTime validateAgainstSchedule() {
+        AppointmentService.validateAgainstSchedule(requestedTime, schedule, duration);
+        return requestedTime;
+    }
+
+    @Benchmark
+    public AppointmentDto bookAppointment() {
+        return appointmentService.bookAppointment(bookDto);
+    }
+}
@@ -1,16 +1,25 @@
 package com.medisync.MediSync;
 
 import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.service.PatientImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(ApplicationProperties.class)
+@EnableScheduling
 public class MediSyncApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MediSyncApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(MediSyncApplication.class, args);
+
+		// A command-line import is done once the context is up; the import runner supplies the exit code.
+		if (context.getEnvironment().containsProperty(PatientImportRunner.PROPERTY)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
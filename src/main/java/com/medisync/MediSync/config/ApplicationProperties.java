@@ -4,10 +4,56 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "application")
 @Getter
 @Setter
 public class ApplicationProperties {
 
     private String secretKey;
+
+    private String cacheSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    private PasswordHashing passwordHashing = new PasswordHashing();
+
+    private Outbox outbox = new Outbox();
+
+    @Getter
+    @Setter
+    public static class PasswordHashing {
+
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        private int importThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+        private int queueCapacity = 200;
+
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        private String sink = "none";
+
+        private int batchSize = 100;
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        private Duration retryBackoff = Duration.ofSeconds(5);
+
+        private Duration maxRetryBackoff = Duration.ofMinutes(15);
+
+        private int maxAttempts = 10;
+
+        private Duration retention = Duration.ofDays(7);
+
+        private String webhookUrl;
+
+        private Duration webhookTimeout = Duration.ofSeconds(10);
+
+        private String file = "outbox-events.ndjson";
+    }
 }
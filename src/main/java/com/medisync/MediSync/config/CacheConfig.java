@@ -0,0 +1,31 @@
+package com.medisync.MediSync.config;
+
+import com.medisync.MediSync.invalidation.BroadcastingCacheManager;
+import com.medisync.MediSync.invalidation.InvalidationBus;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String ALLERGIES = "allergies";
+    public static final String DOCTORS = "doctors";
+
+    /**
+     * Evictions are deferred until the surrounding transaction commits, so a concurrent read cannot
+     * repopulate an entry with data the transaction is about to replace, and are then broadcast to the other nodes.
+     */
+    @Bean
+    public CacheManager cacheManager(ApplicationProperties applicationProperties, InvalidationBus invalidationBus) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(DEPARTMENTS, ALLERGIES, DOCTORS);
+        cacheManager.setCacheSpecification(applicationProperties.getCacheSpec());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(new BroadcastingCacheManager(cacheManager, invalidationBus));
+    }
+}
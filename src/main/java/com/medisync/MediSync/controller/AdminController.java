@@ -2,8 +2,8 @@ package com.medisync.MediSync.controller;
 
 import com.medisync.MediSync.dto.AdminRegistrationDto;
 import com.medisync.MediSync.dto.UserDto;
-import com.medisync.MediSync.entity.User;
 import com.medisync.MediSync.service.AdminService;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -54,9 +54,9 @@ public class AdminController {
     @DeleteMapping("/{adminId}")
     public ResponseEntity<Void> deleteAdmin(
             @PathVariable Long adminId,
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) throws BadRequestException {
-        adminService.deleteAdmin(adminId, currentUser.getId());
+        adminService.deleteAdmin(adminId, currentUser.getUserId());
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
\ No newline at end of file
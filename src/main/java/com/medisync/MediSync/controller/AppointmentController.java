@@ -2,9 +2,12 @@ package com.medisync.MediSync.controller;
 
 import com.medisync.MediSync.dto.AppointmentBookDto;
 import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.dto.AppointmentSeriesBookDto;
 import com.medisync.MediSync.dto.MedicalRecordCreateDto;
 import com.medisync.MediSync.dto.MedicalRecordDto;
+import com.medisync.MediSync.service.AppointmentExportService;
 import com.medisync.MediSync.service.AppointmentService;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,12 +15,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -26,6 +36,45 @@ import java.security.Principal;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AppointmentExportService appointmentExportService;
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Export appointments",
+            description = "Streams appointments joined with their doctor, department, patient and medical record as NDJSON " +
+                    "(default) or CSV, optionally gzip-compressed. Rows are ordered by last modification and each carries a " +
+                    "watermark; pass the last one received as 'since' to continue from there. Changes from the last minute " +
+                    "are left for the next export. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range, format or watermark", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Only admins can export appointments", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Department not found", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        AppointmentExportService.Format exportFormat = AppointmentExportService.Format.valueOf(format.toUpperCase());
+        AppointmentExportService.ExportFilter filter = appointmentExportService.filter(departmentId, from, to, since);
+
+        String fileName = "appointments." + exportFormat.name().toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == AppointmentExportService.Format.CSV
+                    ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                    : MediaType.APPLICATION_NDJSON;
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(output -> appointmentExportService.export(filter, exportFormat, gzip, output));
+    }
 
     @GetMapping("/{appointmentId}")
     @Operation(
@@ -37,8 +86,9 @@ public class AppointmentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - User is not associated with this appointment", content = @Content),
             @ApiResponse(responseCode = "404", description = "Appointment not found", content = @Content)
     })
-    public ResponseEntity<AppointmentDto> getAppointmentById(@PathVariable Long appointmentId, Principal principal) {
-        return ResponseEntity.ok(appointmentService.findById(appointmentId, principal.getName()));
+    public ResponseEntity<AppointmentDto> getAppointmentById(@PathVariable Long appointmentId,
+                                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(appointmentService.findById(appointmentId, currentUser));
     }
 
     @PostMapping
@@ -56,6 +106,24 @@ public class AppointmentController {
         return new ResponseEntity<>(appointmentService.bookAppointment(appointmentDto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/series")
+    @PreAuthorize("hasRole('PATIENT')")
+    @Operation(
+            summary = "Book a recurring appointment series",
+            description = "Books a series of weekly appointments (e.g., every Tuesday at 10:00 for 12 weeks) with a doctor. " +
+                    "All occurrences are booked together or none is. Requires PATIENT role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Appointment series successfully booked"),
+            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., an occurrence outside of the doctor's schedule)", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Only patients can book appointments", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflict - At least one occurrence is already booked", content = @Content)
+    })
+    public ResponseEntity<List<AppointmentDto>> bookAppointmentSeries(
+            @Valid @RequestBody AppointmentSeriesBookDto appointmentSeriesBookDto) {
+        return new ResponseEntity<>(appointmentService.bookAppointmentSeries(appointmentSeriesBookDto), HttpStatus.CREATED);
+    }
+
     @PostMapping("/{appointmentId}/complete")
     @PreAuthorize("hasRole('DOCTOR')")
     @Operation(
@@ -71,9 +139,9 @@ public class AppointmentController {
     public ResponseEntity<MedicalRecordDto> completeAppointment(
             @Valid @RequestBody MedicalRecordCreateDto medicalRecordCreateDto,
             @PathVariable Long appointmentId,
-            Principal principal
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(appointmentService.completeAppointment(appointmentId,medicalRecordCreateDto, principal.getName()));
+        return ResponseEntity.ok(appointmentService.completeAppointment(appointmentId,medicalRecordCreateDto, currentUser));
     }
 
     @PutMapping("/{appointmentId}/cancel")
@@ -87,8 +155,9 @@ public class AppointmentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Not authorized to cancel this appointment", content = @Content),
             @ApiResponse(responseCode = "404", description = "Appointment not found", content = @Content)
     })
-    public ResponseEntity<AppointmentDto> cancelAppointment(@PathVariable Long appointmentId, Principal principal) {
-        return ResponseEntity.ok(appointmentService.cancelAppointment(appointmentId, principal.getName()));
+    public ResponseEntity<AppointmentDto> cancelAppointment(@PathVariable Long appointmentId,
+                                                            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(appointmentService.cancelAppointment(appointmentId, currentUser));
     }
 
     @PutMapping("/{appointmentId}/no-show")
@@ -103,8 +172,9 @@ public class AppointmentController {
             @ApiResponse(responseCode = "409", description = "Conflict - Appointment status cannot be changed (e.g., already completed)", content = @Content),
             @ApiResponse(responseCode = "404", description = "Appointment not found", content = @Content)
     })
-    public ResponseEntity<AppointmentDto> markNoShow(@PathVariable Long appointmentId, Principal principal) {
-        return ResponseEntity.ok(appointmentService.markNoShow(appointmentId, principal.getName()));
+    public ResponseEntity<AppointmentDto> markNoShow(@PathVariable Long appointmentId,
+                                                     @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(appointmentService.markNoShow(appointmentId, currentUser));
     }
 
 }
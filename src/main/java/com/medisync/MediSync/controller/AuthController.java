@@ -33,6 +33,10 @@ public class AuthController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Authentication successful. JWT token returned."
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many sign-ins are being processed. Retry after the Retry-After delay."
             )
     })
     public ResponseEntity<AuthTokenDto> login(@Valid @RequestBody CredentialsDto credentials) {
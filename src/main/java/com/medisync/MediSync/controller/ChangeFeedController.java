@@ -0,0 +1,44 @@
+package com.medisync.MediSync.controller;
+
+import com.medisync.MediSync.dto.CursorPageDto;
+import com.medisync.MediSync.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Incremental feeds of created and updated records for downstream systems.")
+@PreAuthorize("hasRole('ADMIN')")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping("/{feed}")
+    @Operation(
+            summary = "Get changed records",
+            description = "Returns records of one type (appointments, patients, doctors, doctor-schedules, medical-records, " +
+                    "departments, allergies) ordered by their last change. Start without a cursor, then always pass the returned " +
+                    "nextCursor: while hasMore is true more changes are waiting, afterwards poll again later with the same cursor. " +
+                    "Changes from the last minute are returned by a later poll. Deletions are not reported. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Unknown feed", content = @Content)
+    })
+    public ResponseEntity<CursorPageDto<Object>> getChanges(
+            @PathVariable String feed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(changeFeedService.getChanges(feed, cursor, size));
+    }
+}
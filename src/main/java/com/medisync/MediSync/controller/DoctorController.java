@@ -1,11 +1,14 @@
 package com.medisync.MediSync.controller;
 
 import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.dto.AvailableSlotDto;
+import com.medisync.MediSync.dto.CursorPageDto;
 import com.medisync.MediSync.dto.DoctorDto;
 import com.medisync.MediSync.dto.DoctorRegistrationDto;
 import com.medisync.MediSync.dto.DoctorUpdateDto;
 import com.medisync.MediSync.service.AppointmentService;
 import com.medisync.MediSync.service.DoctorService;
+import com.medisync.MediSync.service.SlotAvailabilityStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,9 +18,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -31,6 +36,7 @@ public class DoctorController {
 
     private final DoctorService doctorService;
     private final AppointmentService appointmentService;
+    private final SlotAvailabilityStream slotAvailabilityStream;
 
     @GetMapping
     @Operation(summary = "List all doctors", description = "Retrieves a list of doctors with optional filtering.")
@@ -40,6 +46,27 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getDoctors(departmentId, deactivated));
     }
 
+    @GetMapping("/available-slots")
+    @Operation(
+            summary = "Search available time slots",
+            description = "Returns the earliest free appointment slots across all active doctors of a specialization " +
+                    "and/or department within a date range (at most 31 days)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slots"),
+            @ApiResponse(responseCode = "400", description = "Invalid specialization, date range or limit", content = @Content)
+    })
+    public ResponseEntity<List<AvailableSlotDto>> searchAvailableSlots(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate startDate = from != null ? from : LocalDate.now();
+        LocalDate endDate = to != null ? to : startDate.plusWeeks(2);
+        return ResponseEntity.ok(appointmentService.searchAvailableSlots(specialization, departmentId, startDate, endDate, limit));
+    }
+
     @GetMapping("/{doctorId}")
     @Operation(summary = "Get doctor details", description = "Retrieves public profile information for a specific doctor.")
     @ApiResponses(value = {
@@ -55,15 +82,23 @@ public class DoctorController {
     @PreAuthorize("hasAnyRole('DOCTOR', 'ADMIN')")
     @Operation(
             summary = "Get doctor's appointments",
-            description = "Retrieves all appointments for a specific doctor. Restricted to the Doctor themselves or Admins."
+            description = "Retrieves a page of appointments for a specific doctor, ordered by appointment time. " +
+                    "Pass the returned nextCursor to fetch the following page. Restricted to the Doctor themselves or Admins."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved appointments"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or page size", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires DOCTOR or ADMIN role", content = @Content),
             @ApiResponse(responseCode = "404", description = "Doctor not found", content = @Content)
     })
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByDoctorId(@PathVariable Long doctorId) {
-        return ResponseEntity.ok(appointmentService.getDoctorAppointments(doctorId));
+    public ResponseEntity<CursorPageDto<AppointmentDto>> getAppointmentsByDoctorId(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(appointmentService.getDoctorAppointments(doctorId, status, from, to, cursor, size));
     }
 
     @GetMapping("/{doctorId}/appointments/slots")
@@ -82,6 +117,26 @@ public class DoctorController {
         return ResponseEntity.ok(appointmentService.getAvailableSlots(doctorId, date));
     }
 
+    @GetMapping(value = "/{doctorId}/appointments/slots/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Follow available time slots",
+            description = "Opens a server-sent event stream for a doctor on a specific date. The first event, " +
+                    "'snapshot', lists the available times; 'taken' and 'freed' events then carry single times as " +
+                    "appointments are booked and cancelled, and a new 'snapshot' follows schedule changes. The stream " +
+                    "closes after 30 minutes or when the doctor no longer works that day; clients reconnect."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid or past date", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Doctor not found or not working that day", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many open streams", content = @Content)
+    })
+    public SseEmitter streamAvailableSlots(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return slotAvailabilityStream.subscribe(doctorId, date);
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Register a new doctor", description = "Creates a new doctor profile and user account. Requires ADMIN role.")
@@ -1,11 +1,15 @@
 package com.medisync.MediSync.controller;
 
 import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.dto.CursorPageDto;
 import com.medisync.MediSync.dto.PatientDto;
+import com.medisync.MediSync.dto.PatientImportReportDto;
 import com.medisync.MediSync.dto.PatientRegistrationDto;
 import com.medisync.MediSync.dto.PatientUpdateDto;
 import com.medisync.MediSync.service.AppointmentService;
+import com.medisync.MediSync.service.PatientImportService;
 import com.medisync.MediSync.service.PatientService;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,13 +18,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-import java.util.List;
+import java.io.InputStream;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -30,6 +37,7 @@ public class PatientController {
 
     private final PatientService patientService;
     private final AppointmentService appointmentService;
+    private final PatientImportService patientImportService;
 
     @PostMapping
     @SecurityRequirements()
@@ -47,6 +55,28 @@ public class PatientController {
         return new ResponseEntity<>("Patient Registration Successful", HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Bulk import patients",
+            description = "Registers patients from a CSV file (header row with PatientRegistrationDto field names, allergy ids separated by ';') " +
+                    "or from NDJSON (one registration object per line). Rows are validated like a single registration; invalid rows are skipped " +
+                    "and listed in the report. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; the report lists rows that were not imported"),
+            @ApiResponse(responseCode = "400", description = "Empty or unreadable file", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Only admins can import patients", content = @Content)
+    })
+    public ResponseEntity<PatientImportReportDto> importPatients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 InputStream body) {
+        PatientImportService.Format format = contentType.toLowerCase().startsWith("text/csv")
+                ? PatientImportService.Format.CSV
+                : PatientImportService.Format.NDJSON;
+
+        return ResponseEntity.ok(patientImportService.importPatients(body, format));
+    }
+
     @GetMapping("/{patientId}")
     @Operation(summary = "Get patient profile", description = "Retrieves public profile information of a patient.")
     @ApiResponses(value = {
@@ -71,23 +101,32 @@ public class PatientController {
     public ResponseEntity<PatientDto> updatePatient(
             @PathVariable Long patientId,
             @Valid @RequestBody PatientUpdateDto patientUpdateDto,
-            Principal principal) {
-        return ResponseEntity.ok(patientService.updatePatient(patientId, patientUpdateDto, principal.getName()));
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(patientService.updatePatient(patientId, patientUpdateDto, currentUser));
     }
 
     @GetMapping("/{patientId}/appointments")
     @Operation(
             summary = "Get patient's appointments",
-            description = "Retrieves the appointment history for a specific patient. Access is restricted to the Patient (owner) or an Admin."
+            description = "Retrieves a page of the appointment history for a specific patient, ordered by appointment time. " +
+                    "Pass the returned nextCursor to fetch the following page. Access is restricted to the Patient (owner) or an Admin."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved appointment history"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or page size", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - Not authorized to view this patient's history", content = @Content),
             @ApiResponse(responseCode = "404", description = "Patient not found", content = @Content)
     })
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByPatientId(@PathVariable Long patientId,
-                                                                           Principal principal) {
-        return ResponseEntity.ok(appointmentService.getPatientAppointments(patientId, principal.getName()));
+    public ResponseEntity<CursorPageDto<AppointmentDto>> getAppointmentsByPatientId(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(appointmentService.getPatientAppointments(
+                patientId, status, from, to, cursor, size, currentUser));
     }
 
     @PutMapping("/{patientId}/deactivate")
@@ -4,6 +4,7 @@ import com.medisync.MediSync.dto.ChangePasswordDto;
 import com.medisync.MediSync.dto.UserDto;
 import com.medisync.MediSync.entity.User;
 import com.medisync.MediSync.service.UserService;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,8 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -46,9 +45,9 @@ public class UserController {
     })
     public ResponseEntity<Void> changePassword(
             @RequestBody @Valid ChangePasswordDto request,
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        userService.changePassword(request, currentUser.getId());
+        userService.changePassword(request, currentUser.getUserId());
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,37 @@
+package com.medisync.MediSync.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AppointmentSeriesBookDto {
+
+    @NotNull(message = "Patient id is required")
+    private Long patientId;
+
+    @NotNull(message = "Doctor id is required")
+    private Long doctorId;
+
+    @NotNull(message = "First appointment time is required")
+    @Future(message = "Appointment time cannot be from the past")
+    private LocalDateTime firstAppointmentTime;
+
+    @NotNull(message = "Number of occurrences is required")
+    @Min(value = 2, message = "A series must have at least 2 occurrences")
+    @Max(value = 52, message = "A series cannot have more than 52 occurrences")
+    private Integer occurrences;
+
+    @NotNull(message = "Interval in weeks is required")
+    @Min(value = 1, message = "Interval must be at least 1 week")
+    @Max(value = 12, message = "Interval cannot be more than 12 weeks")
+    private Integer intervalWeeks = 1;
+
+    @NotBlank(message = "Reason is required")
+    private String reason;
+}
@@ -0,0 +1,33 @@
+package com.medisync.MediSync.dto;
+
+import com.medisync.MediSync.entity.Doctor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDto {
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private Long departmentId;
+    private String departmentName;
+    private LocalDateTime slotTime;
+
+    public static AvailableSlotDto mapToDto(Doctor doctor, LocalDateTime slotTime) {
+        return AvailableSlotDto.builder()
+                .doctorId(doctor.getId())
+                .doctorName(doctor.getFirstName() + " " + doctor.getLastName())
+                .specialization(doctor.getSpecialization().name())
+                .departmentId(doctor.getDepartment().getId())
+                .departmentName(doctor.getDepartment().getName())
+                .slotTime(slotTime)
+                .build();
+    }
+}
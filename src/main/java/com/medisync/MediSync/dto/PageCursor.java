@@ -0,0 +1,51 @@
+package com.medisync.MediSync.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, exchanged with clients as an opaque URL-safe token.
+ */
+public record PageCursor(LocalDateTime timestamp, Long id) {
+
+    /**
+     * Cursor before every row. Reads without a cursor start from it, so the first page seeks on the same
+     * (timestamp, id) index as the ones after it, and it doubles as the lower bound of an open date range.
+     */
+    public static final PageCursor START = new PageCursor(LocalDate.of(1900, 1, 1).atStartOfDay(), 0L);
+
+    /**
+     * How long rows ordered by their last change are left out of reads that hand out a cursor into them. A
+     * transaction that commits late with an older timestamp would otherwise be skipped by a cursor that has already
+     * moved past it.
+     */
+    public static final Duration SETTLE_TIME = Duration.ofMinutes(1);
+
+    private static final String SEPARATOR = "|";
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new PageCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor.");
+        }
+    }
+
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
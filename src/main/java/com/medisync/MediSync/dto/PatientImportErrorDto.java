@@ -0,0 +1,14 @@
+package com.medisync.MediSync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientImportErrorDto {
+    private long line;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.medisync.MediSync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientImportReportDto {
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long durationMillis;
+    private double rowsPerSecond;
+    private List<PatientImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
@@ -10,14 +10,15 @@ import lombok.experimental.SuperBuilder;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "allergies")
+@Table(name = "allergies", indexes = @Index(name = "idx_allergies_updated_at", columnList = "updated_at, id"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
 public class Allergy extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "allergies_seq")
+    @SequenceGenerator(name = "allergies_seq", sequenceName = "allergies_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -10,14 +10,39 @@ import java.time.LocalDateTime;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "appointments")
+@NamedEntityGraph(
+        name = Appointment.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "doctor", subgraph = "doctor"),
+                @NamedAttributeNode(value = "patient", subgraph = "patient"),
+                @NamedAttributeNode("medicalRecord")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "doctor", attributeNodes = {
+                        @NamedAttributeNode("department"),
+                        @NamedAttributeNode("user")
+                }),
+                @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user"))
+        }
+)
+@Table(name = "appointments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointments_doctor_active_slot", columnNames = {"doctor_id", "active_slot_time"})
+}, indexes = {
+        @Index(name = "idx_appointments_doctor_time", columnList = "doctor_id, appointment_time, id"),
+        @Index(name = "idx_appointments_patient_time", columnList = "patient_id, appointment_time, id"),
+        @Index(name = "idx_appointments_patient_status", columnList = "patient_id, status"),
+        @Index(name = "idx_appointments_updated_at", columnList = "updated_at, id")
+})
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment extends BaseEntity {
+    public static final String DETAILS_GRAPH = "Appointment.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -41,4 +66,16 @@ public class Appointment extends BaseEntity {
     @OneToOne(mappedBy = "appointment")
     private MedicalRecord medicalRecord;
 
+    // Mirrors appointmentTime while the appointment holds its slot and is cleared on cancellation, so the unique
+    // constraint on (doctor_id, active_slot_time) only applies to appointments that are not cancelled.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "active_slot_time")
+    private LocalDateTime activeSlotTime;
+
+    @PrePersist
+    @PreUpdate
+    private void syncActiveSlotTime() {
+        activeSlotTime = status == AppointmentStatus.CANCELLED ? null : appointmentTime;
+    }
+
 }
@@ -25,6 +25,6 @@ public abstract class BaseEntity {
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(insertable = false)
+    @Column(nullable = false)
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
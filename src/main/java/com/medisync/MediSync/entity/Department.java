@@ -8,13 +8,14 @@ import lombok.experimental.SuperBuilder;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "departments")
+@Table(name = "departments", indexes = @Index(name = "idx_departments_updated_at", columnList = "updated_at, id"))
 @Data
 @NoArgsConstructor
 @SuperBuilder
 public class Department extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -13,14 +13,15 @@ import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", indexes = @Index(name = "idx_doctors_updated_at", columnList = "updated_at, id"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Doctor extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_seq")
+    @SequenceGenerator(name = "doctors_seq", sequenceName = "doctors_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
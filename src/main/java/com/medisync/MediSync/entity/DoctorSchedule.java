@@ -10,8 +10,8 @@ import java.time.LocalTime;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "doctor_schedules", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"doctor_id", "dayOfWeek"})
-})
+        @UniqueConstraint(name = "uk_doctor_schedules_doctor_day", columnNames = {"doctor_id", "dayOfWeek"})
+}, indexes = @Index(name = "idx_doctor_schedules_updated_at", columnList = "updated_at, id"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -19,7 +19,8 @@ import java.time.LocalTime;
 public class DoctorSchedule extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_schedules_seq")
+    @SequenceGenerator(name = "doctor_schedules_seq", sequenceName = "doctor_schedules_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = @Index(name = "idx_medical_records_updated_at", columnList = "updated_at, id"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class MedicalRecord extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_records_seq")
+    @SequenceGenerator(name = "medical_records_seq", sequenceName = "medical_records_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -0,0 +1,58 @@
+package com.medisync.MediSync.entity;
+
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appointment lifecycle event written in the same transaction as the change it describes and delivered afterwards by
+ * {@link com.medisync.MediSync.outbox.OutboxRelay}. {@code publishedAt} stays null until a sink has accepted it; after
+ * a failed delivery {@code nextAttemptAt} holds the event back, and {@code parkedAt} is set once it has failed too often.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_pending", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_events_appointment", columnList = "appointment_id, id")
+})
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent extends BaseEntity {
+
+    // Assigned by the database on every insert rather than from a block held by one node, so the events of an
+    // appointment are numbered in the order they were committed; the relay delivers them in this order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentEventType eventType;
+
+    @Column(nullable = false)
+    private Long appointmentId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime parkedAt;
+}
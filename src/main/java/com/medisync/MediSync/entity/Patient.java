@@ -11,7 +11,7 @@ import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = @Index(name = "idx_patients_updated_at", columnList = "updated_at, id"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -19,7 +19,8 @@ import java.util.List;
 public class Patient extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -48,6 +49,9 @@ public class Patient extends BaseEntity {
     private User user;
 
     @ManyToMany
-    @JoinTable(name = "patients_allergies")
+    @JoinTable(name = "patients_allergies",
+            joinColumns = @JoinColumn(name = "patient_id"),
+            inverseJoinColumns = @JoinColumn(name = "allergies_id"),
+            indexes = @Index(name = "idx_patients_allergies_allergy", columnList = "allergies_id"))
     private List<Allergy> allergies;
 }
@@ -0,0 +1,8 @@
+package com.medisync.MediSync.entity.enums;
+
+public enum AppointmentEventType {
+    BOOKED,
+    CANCELLED,
+    COMPLETED,
+    NO_SHOW
+}
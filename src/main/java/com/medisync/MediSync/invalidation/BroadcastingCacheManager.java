@@ -0,0 +1,104 @@
+package com.medisync.MediSync.invalidation;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * Publishes every eviction of the wrapped caches on the {@link InvalidationBus} and clears a cache when another
+ * node evicts from it. Remote evictions always clear the whole cache, since cache keys are not portable.
+ */
+public class BroadcastingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final InvalidationBus invalidationBus;
+
+    public BroadcastingCacheManager(CacheManager delegate, InvalidationBus invalidationBus) {
+        this.delegate = delegate;
+        this.invalidationBus = invalidationBus;
+        delegate.getCacheNames().forEach(name -> invalidationBus.subscribe(name, key -> {
+            Cache cache = delegate.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        return cache != null ? new BroadcastingCache(cache) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private class BroadcastingCache implements Cache {
+
+        private final Cache cache;
+
+        private BroadcastingCache(Cache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return cache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            cache.evict(key);
+            invalidationBus.publish(getName(), null);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = cache.evictIfPresent(key);
+            invalidationBus.publish(getName(), null);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+            invalidationBus.publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = cache.invalidate();
+            invalidationBus.publish(getName(), null);
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.medisync.MediSync.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts evictions of node-local state (caches, slot index, token revocations) to the other nodes of a
+ * deployment. Listeners only see messages published by other nodes; a {@code null} key means the whole region
+ * has to be dropped, which is also what every listener receives after messages may have been missed.
+ */
+public abstract class InvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    public void subscribe(String region, Consumer<String> listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void publish(String region, String key) {
+        send(new InvalidationMessage(nodeId, region, key));
+    }
+
+    protected abstract void send(InvalidationMessage message);
+
+    protected void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        listeners.getOrDefault(message.region(), List.of()).forEach(listener -> listener.accept(message.key()));
+    }
+
+    protected void invalidateAll() {
+        listeners.values().forEach(regionListeners -> regionListeners.forEach(listener -> listener.accept(null)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.medisync.MediSync.invalidation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An eviction broadcast by one node. A {@code null} key stands for the whole region.
+ */
+public record InvalidationMessage(String origin, String region, String key) {
+
+    private static final String SEPARATOR = "|";
+    private static final String MESSAGE_SEPARATOR = "\n";
+
+    public String encode() {
+        return origin + SEPARATOR + region + (key != null ? SEPARATOR + key : "");
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Invalid invalidation message: " + payload);
+        }
+        return new InvalidationMessage(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+    }
+
+    /**
+     * Several messages in one payload, one per line.
+     */
+    public static String encodeAll(Collection<InvalidationMessage> messages) {
+        return messages.stream().map(InvalidationMessage::encode).collect(Collectors.joining(MESSAGE_SEPARATOR));
+    }
+
+    public static List<InvalidationMessage> decodeAll(String payload) {
+        return payload.lines().map(InvalidationMessage::decode).toList();
+    }
+}
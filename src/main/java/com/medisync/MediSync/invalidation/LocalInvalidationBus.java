@@ -0,0 +1,33 @@
+package com.medisync.MediSync.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-JVM bus for single-node deployments and tests. Every instance is a node; messages are delivered
+ * synchronously to the other nodes that joined the same group.
+ */
+@Component
+@ConditionalOnProperty(name = "application.invalidation-bus", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus extends InvalidationBus {
+
+    private final List<LocalInvalidationBus> group;
+
+    public LocalInvalidationBus() {
+        this.group = new CopyOnWriteArrayList<>();
+        group.add(this);
+    }
+
+    public LocalInvalidationBus(LocalInvalidationBus peer) {
+        this.group = peer.group;
+        group.add(this);
+    }
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        group.forEach(node -> node.receive(message));
+    }
+}
@@ -0,0 +1,178 @@
+package com.medisync.MediSync.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Broadcasts through PostgreSQL LISTEN/NOTIFY. One pooled connection is held by the listener thread for the
+ * lifetime of the node; whenever it has to reconnect, all regions are invalidated since notifications sent in
+ * the meantime are lost.
+ * <p>
+ * Messages are not sent on the publishing thread: they are often published right after a commit, while the request
+ * still holds its own connection. A single publisher thread collects them, drops duplicates and sends everything that
+ * piled up in as few notifications as possible, on one connection.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.invalidation-bus", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresInvalidationBus extends InvalidationBus implements SmartLifecycle {
+
+    private static final String CHANNEL = "medisync_invalidation";
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+    // PostgreSQL rejects notification payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final DataSource dataSource;
+
+    private final Set<InvalidationMessage> pending = new LinkedHashSet<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Thread publisherThread;
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        synchronized (pending) {
+            if (pending.add(message)) {
+                pending.notify();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("invalidation-listener").start(this::listen);
+        publisherThread = Thread.ofPlatform().daemon().name("invalidation-publisher").start(this::publish);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+        publisherThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish() {
+        while (running) {
+            List<InvalidationMessage> batch;
+            synchronized (pending) {
+                while (pending.isEmpty()) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            try {
+                sendNotifications(batch);
+            } catch (SQLException e) {
+                log.warn("Could not broadcast {} invalidations, retrying", batch.size(), e);
+                synchronized (pending) {
+                    List<InvalidationMessage> newer = new ArrayList<>(pending);
+                    pending.clear();
+                    pending.addAll(batch);
+                    pending.addAll(newer);
+                }
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendNotifications(List<InvalidationMessage> batch) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            connection.setAutoCommit(true);
+            for (String payload : payloads(batch)) {
+                statement.setString(1, CHANNEL);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        }
+    }
+
+    private static List<String> payloads(List<InvalidationMessage> batch) {
+        List<String> payloads = new ArrayList<>();
+        List<InvalidationMessage> current = new ArrayList<>();
+        int currentBytes = 0;
+
+        for (InvalidationMessage message : batch) {
+            int bytes = message.encode().getBytes(StandardCharsets.UTF_8).length + 1;
+            if (!current.isEmpty() && currentBytes + bytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(InvalidationMessage.encodeAll(current));
+                current.clear();
+                currentBytes = 0;
+            }
+            current.add(message);
+            currentBytes += bytes;
+        }
+        payloads.add(InvalidationMessage.encodeAll(current));
+
+        return payloads;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                invalidateAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        InvalidationMessage.decodeAll(notification.getParameter()).forEach(this::receive);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener lost its connection, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.medisync.MediSync.outbox;
+
+import com.medisync.MediSync.entity.Appointment;
+import com.medisync.MediSync.entity.OutboxEvent;
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
+import com.medisync.MediSync.entity.enums.AppointmentStatus;
+import com.medisync.MediSync.repository.OutboxEventRepository;
+import com.medisync.MediSync.repository.projection.ScheduledAppointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes appointment lifecycle events to the outbox. Callers must already be in the transaction that makes the change,
+ * so an event is stored exactly when the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AppointmentEventType type, Appointment appointment) {
+        save(type, List.of(payloadOf(appointment)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(AppointmentEventType type, Collection<Appointment> appointments) {
+        save(type, appointments.stream().map(AppointmentEventOutbox::payloadOf).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Collection<ScheduledAppointment> appointments) {
+        save(AppointmentEventType.CANCELLED, appointments.stream()
+                .map(appointment -> new AppointmentEventPayload(appointment.id(), appointment.doctorId(),
+                        appointment.patientId(), appointment.appointmentTime(), AppointmentStatus.CANCELLED))
+                .toList());
+    }
+
+    private void save(AppointmentEventType type, List<AppointmentEventPayload> payloads) {
+        outboxEventRepository.saveAll(payloads.stream()
+                .map(payload -> OutboxEvent.builder()
+                        .eventType(type)
+                        .appointmentId(payload.appointmentId())
+                        .payload(objectMapper.writeValueAsString(payload))
+                        .build())
+                .toList());
+    }
+
+    private static AppointmentEventPayload payloadOf(Appointment appointment) {
+        return new AppointmentEventPayload(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentTime(), appointment.getStatus());
+    }
+}
@@ -0,0 +1,9 @@
+package com.medisync.MediSync.outbox;
+
+import com.medisync.MediSync.entity.enums.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+public record AppointmentEventPayload(Long appointmentId, Long doctorId, Long patientId,
+                                      LocalDateTime appointmentTime, AppointmentStatus status) {
+}
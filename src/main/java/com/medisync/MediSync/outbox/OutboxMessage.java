@@ -0,0 +1,12 @@
+package com.medisync.MediSync.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event as handed to an {@link OutboxSink}. Delivery is at least once; consumers deduplicate on {@code id}.
+ */
+public record OutboxMessage(Long id, AppointmentEventType type, LocalDateTime occurredAt, @JsonRawValue String payload) {
+}
@@ -0,0 +1,160 @@
+package com.medisync.MediSync.outbox;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.entity.OutboxEvent;
+import com.medisync.MediSync.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers outbox events to the configured {@link OutboxSink} in id order, one locked batch per transaction. A batch
+ * holds at most one event per appointment; the next one follows in a later batch of the same poll. A batch
+ * is marked published only after the sink accepted it. When a batch fails, its events are sent one at a time up to
+ * the first one the sink rejects; that event waits for a retry with exponential backoff and is parked after
+ * {@code application.outbox.max-attempts}. Later events of the same appointment wait behind it, events of other
+ * appointments keep flowing. A poll that delivers nothing at all pauses the relay with the same backoff, so an
+ * unavailable sink is not called on every poll.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${application.outbox.sink:none}' != 'none'")
+public class OutboxRelay {
+
+    private static final String PUBLISHED_COUNTER = "medisync.outbox.published";
+    private static final String FAILURES_COUNTER = "medisync.outbox.failures";
+    private static final String PARKED_COUNTER = "medisync.outbox.parked";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationProperties.Outbox properties;
+
+    // Only touched by the scheduler thread that runs relay().
+    private int failedPolls;
+    private LocalDateTime pausedUntil = LocalDateTime.MIN;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink sink,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       ApplicationProperties applicationProperties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:1s}")
+    public void relay() {
+        if (LocalDateTime.now().isBefore(pausedUntil)) {
+            return;
+        }
+
+        int delivered = 0;
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(status -> publishBatch());
+            delivered += result.published();
+        } while (!result.failed() && result.published() > 0);
+
+        if (result.failed() && delivered == 0) {
+            failedPolls++;
+            pausedUntil = LocalDateTime.now().plus(backoff(failedPolls));
+        } else {
+            failedPolls = 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1H")
+    public void deletePublished() {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(properties.getRetention())));
+    }
+
+    private BatchResult publishBatch() {
+        List<OutboxEvent> events =
+                outboxEventRepository.lockDue(LocalDateTime.now(), Limit.of(properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return new BatchResult(0, false);
+        }
+
+        try {
+            publish(events);
+            return new BatchResult(events.size(), false);
+        } catch (Exception e) {
+            if (events.size() == 1) {
+                fail(events.getFirst(), e);
+                return new BatchResult(0, true);
+            }
+            log.warn("Outbox batch of {} events starting at id {} was not delivered, sending them one by one: {}",
+                    events.size(), events.getFirst().getId(), e.toString());
+        }
+
+        // The events after the first rejected one stay untouched and come back on the next poll.
+        int published = 0;
+        for (OutboxEvent event : events) {
+            try {
+                publish(List.of(event));
+                published++;
+            } catch (Exception e) {
+                fail(event, e);
+                return new BatchResult(published, true);
+            }
+        }
+        return new BatchResult(published, false);
+    }
+
+    private void publish(List<OutboxEvent> events) throws Exception {
+        sink.publish(events.stream()
+                .map(event -> new OutboxMessage(event.getId(), event.getEventType(), event.getCreatedAt(), event.getPayload()))
+                .toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setPublishedAt(now);
+            event.setNextAttemptAt(null);
+        });
+        meterRegistry.counter(PUBLISHED_COUNTER).increment(events.size());
+    }
+
+    private void fail(OutboxEvent event, Exception e) {
+        String error = e.toString();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        meterRegistry.counter(FAILURES_COUNTER).increment();
+
+        if (event.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("Outbox event {} was parked after {} failed attempts: {}",
+                    event.getId(), event.getAttempts(), error);
+            event.setParkedAt(LocalDateTime.now());
+            event.setNextAttemptAt(null);
+            meterRegistry.counter(PARKED_COUNTER).increment();
+            return;
+        }
+
+        Duration backoff = backoff(event.getAttempts());
+        log.warn("Outbox event {} was not delivered (attempt {}), retrying in {}: {}",
+                event.getId(), event.getAttempts(), backoff, error);
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+    }
+
+    private Duration backoff(int failures) {
+        Duration max = properties.getMaxRetryBackoff();
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(failures - 1, 30));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private record BatchResult(int published, boolean failed) {
+    }
+}
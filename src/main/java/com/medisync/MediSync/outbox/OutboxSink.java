@@ -0,0 +1,12 @@
+package com.medisync.MediSync.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed events. A batch counts as delivered only when {@link #publish} returns normally; if it
+ * throws, its events are sent again one at a time, in the same order, to find the one that fails.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
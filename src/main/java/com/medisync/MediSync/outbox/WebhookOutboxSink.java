@@ -0,0 +1,48 @@
+package com.medisync.MediSync.outbox;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to {@code application.outbox.webhook-url}. Any non-2xx response fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "application.outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public WebhookOutboxSink(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        ApplicationProperties.Outbox outbox = applicationProperties.getOutbox();
+        if (outbox.getWebhookUrl() == null || outbox.getWebhookUrl().isBlank()) {
+            throw new IllegalStateException("application.outbox.webhook-url must be set for the webhook outbox sink.");
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(outbox.getWebhookTimeout());
+        requestFactory.setReadTimeout(outbox.getWebhookTimeout());
+
+        this.restClient = RestClient.builder()
+                .baseUrl(outbox.getWebhookUrl())
+                .requestFactory(requestFactory)
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(messages))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
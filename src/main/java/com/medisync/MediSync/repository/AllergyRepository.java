@@ -2,10 +2,14 @@ package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.Allergy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface AllergyRepository extends JpaRepository<Allergy, Long> {
+public interface AllergyRepository extends JpaRepository<Allergy, Long>, ChangeFeedRepository<Allergy> {
+
+    @Query("SELECT a.id FROM Allergy a")
+    List<Long> findAllIds();
 }
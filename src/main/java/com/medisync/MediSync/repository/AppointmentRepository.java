@@ -1,35 +1,154 @@
 package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.Appointment;
-import com.medisync.MediSync.entity.Doctor;
-import com.medisync.MediSync.entity.Patient;
 import com.medisync.MediSync.entity.enums.AppointmentStatus;
+import com.medisync.MediSync.repository.projection.AppointmentExportRow;
+import com.medisync.MediSync.repository.projection.BookedSlot;
+import com.medisync.MediSync.repository.projection.ScheduledAppointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    List<Appointment> findByPatient(Patient patient);
-    List<Appointment> findByDoctor(Doctor doctor);
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, ChangeFeedRepository<Appointment> {
+    /**
+     * Appointment pages seek on the (owner, {@code appointment_time}, {@code id}) indexes. The range bounds are
+     * therefore never null, and the first page and the pages after a cursor are separate queries.
+     */
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("""
+        SELECT a FROM Appointment a
+        WHERE a.patient.id = :patientId
+        AND a.appointmentTime >= :from AND a.appointmentTime < :to
+        AND (:status IS NULL OR a.status = :status)
+        ORDER BY a.appointmentTime, a.id
+    """)
+    List<Appointment> findPatientAppointmentPage(Long patientId, AppointmentStatus status,
+                                                 LocalDateTime from, LocalDateTime to, Limit limit);
+
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("""
+        SELECT a FROM Appointment a
+        WHERE a.patient.id = :patientId
+        AND a.appointmentTime >= :from AND a.appointmentTime < :to
+        AND (a.appointmentTime, a.id) > (:afterTime, :afterId)
+        AND (:status IS NULL OR a.status = :status)
+        ORDER BY a.appointmentTime, a.id
+    """)
+    List<Appointment> findPatientAppointmentPageAfter(Long patientId, AppointmentStatus status,
+                                                      LocalDateTime from, LocalDateTime to,
+                                                      LocalDateTime afterTime, Long afterId, Limit limit);
 
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     @Query("""
-        SELECT COUNT(a) > 0 FROM Appointment a
+        SELECT a FROM Appointment a
         WHERE a.doctor.id = :doctorId
-        AND a.status != 'CANCELLED'
-        AND a.appointmentTime = :appointmentTime
+        AND a.appointmentTime >= :from AND a.appointmentTime < :to
+        AND (:status IS NULL OR a.status = :status)
+        ORDER BY a.appointmentTime, a.id
     """)
-    boolean existsByDoctorAppointmentTime(Long doctorId, LocalDateTime appointmentTime);
+    List<Appointment> findDoctorAppointmentPage(Long doctorId, AppointmentStatus status,
+                                                LocalDateTime from, LocalDateTime to, Limit limit);
+
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("""
+        SELECT a FROM Appointment a
+        WHERE a.doctor.id = :doctorId
+        AND a.appointmentTime >= :from AND a.appointmentTime < :to
+        AND (a.appointmentTime, a.id) > (:afterTime, :afterId)
+        AND (:status IS NULL OR a.status = :status)
+        ORDER BY a.appointmentTime, a.id
+    """)
+    List<Appointment> findDoctorAppointmentPageAfter(Long doctorId, AppointmentStatus status,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     LocalDateTime afterTime, Long afterId, Limit limit);
 
     List<Appointment> findByDoctorIdAndAppointmentTimeBetween(
             Long doctorId, LocalDateTime startOfDay, LocalDateTime endOfDay
     );
 
-    List<Appointment> findAllByPatientIdAndStatus(Long patientId, AppointmentStatus status);
+    @Query("""
+        SELECT a.appointmentTime FROM Appointment a
+        WHERE a.doctor.id = :doctorId
+        AND a.status != 'CANCELLED'
+        AND a.appointmentTime BETWEEN :startOfDay AND :endOfDay
+    """)
+    List<LocalDateTime> findBookedTimesByDoctorId(Long doctorId, LocalDateTime startOfDay, LocalDateTime endOfDay);
+
+    @Query("""
+        SELECT new com.medisync.MediSync.repository.projection.BookedSlot(a.doctor.id, a.appointmentTime)
+        FROM Appointment a
+        WHERE a.doctor.id IN :doctorIds
+        AND a.status != 'CANCELLED'
+        AND a.appointmentTime BETWEEN :start AND :end
+    """)
+    List<BookedSlot> findBookedSlotsByDoctorIds(Collection<Long> doctorIds, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Cancels every scheduled appointment of a patient in one statement and returns the rows it changed, so the
+     * caller's events and slot index updates cover exactly those. The update bypasses entity callbacks, so the active
+     * slot is released here as well.
+     */
+    @Query(nativeQuery = true, value = """
+        UPDATE appointments
+        SET status = 'CANCELLED', active_slot_time = NULL, updated_at = :now
+        WHERE patient_id = :patientId
+        AND status = 'SCHEDULED'
+        RETURNING id, doctor_id AS "doctorId", patient_id AS "patientId", appointment_time AS "appointmentTime"
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "appointments"))
+    List<ScheduledAppointment> cancelScheduledByPatientId(Long patientId, LocalDateTime now);
+
+    /**
+     * Cancels every scheduled appointment of a doctor in one statement and returns the rows it changed, like
+     * {@link #cancelScheduledByPatientId}.
+     */
+    @Query(nativeQuery = true, value = """
+        UPDATE appointments
+        SET status = 'CANCELLED', active_slot_time = NULL, updated_at = :now
+        WHERE doctor_id = :doctorId
+        AND status = 'SCHEDULED'
+        RETURNING id, doctor_id AS "doctorId", patient_id AS "patientId", appointment_time AS "appointmentTime"
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "appointments"))
+    List<ScheduledAppointment> cancelScheduledByDoctorId(Long doctorId, LocalDateTime now);
+
+    @Query("""
+        SELECT new com.medisync.MediSync.repository.projection.AppointmentExportRow(
+            a.id, a.appointmentTime, a.status, a.reason, a.createdAt,
+            a.updatedAt,
+            d.id, d.firstName, d.lastName, d.specialization, dep.id, dep.name,
+            p.id, p.firstName, p.lastName, p.dateOfBirth, p.gender,
+            m.id, m.diagnosis, m.treatmentPlan, m.prescription)
+        FROM Appointment a
+        JOIN a.doctor d
+        JOIN d.department dep
+        JOIN a.patient p
+        LEFT JOIN MedicalRecord m ON m.appointment = a
+        WHERE (:departmentId IS NULL OR dep.id = :departmentId)
+        AND (CAST(:from AS LocalDateTime) IS NULL OR a.appointmentTime >= :from)
+        AND (CAST(:to AS LocalDateTime) IS NULL OR a.appointmentTime < :to)
+        AND (a.updatedAt, a.id) > (:sinceTime, :sinceId)
+        AND a.updatedAt < :until
+        ORDER BY a.updatedAt, a.id
+        """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AppointmentExportRow> streamForExport(Long departmentId, LocalDateTime from, LocalDateTime to,
+                                                 LocalDateTime until, LocalDateTime sinceTime, Long sinceId);
 
-    List<Appointment> findAllByDoctorIdAndStatus(Long doctorId, AppointmentStatus status);
+    @Override
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query(CHANGED_SINCE_QUERY)
+    List<Appointment> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
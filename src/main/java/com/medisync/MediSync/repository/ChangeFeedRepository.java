@@ -0,0 +1,27 @@
+package com.medisync.MediSync.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset access to rows in the order they last changed. Repositories whose DTO needs associations redeclare
+ * {@link #findChangedSince} with an entity graph and the same {@link #CHANGED_SINCE_QUERY}. The cursor is never null,
+ * so every poll seeks on the ({@code updated_at}, {@code id}) index instead of scanning it from the start.
+ */
+@NoRepositoryBean
+public interface ChangeFeedRepository<T> {
+
+    String CHANGED_SINCE_QUERY = """
+        SELECT e FROM #{#entityName} e
+        WHERE (e.updatedAt, e.id) > (:afterTime, :afterId)
+        AND e.updatedAt < :until
+        ORDER BY e.updatedAt, e.id
+        """;
+
+    @Query(CHANGED_SINCE_QUERY)
+    List<T> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
+}
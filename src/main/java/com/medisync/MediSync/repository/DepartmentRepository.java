@@ -1,10 +1,25 @@
 package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.Department;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, ChangeFeedRepository<Department> {
     boolean existsByName(String name);
+
+    @Override
+    @EntityGraph(attributePaths = "departmentHead")
+    List<Department> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "departmentHead")
+    @Query(CHANGED_SINCE_QUERY)
+    List<Department> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
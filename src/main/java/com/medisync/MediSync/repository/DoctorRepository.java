@@ -1,26 +1,45 @@
 package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.Doctor;
-import jakarta.persistence.LockModeType;
+import com.medisync.MediSync.entity.enums.Specialization;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, ChangeFeedRepository<Doctor> {
     List<Doctor> findByDepartmentId(Long departmentId);
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT d FROM Doctor d WHERE d.id = :id")
-    Optional<Doctor> findByIdWithLock(Long id);
+    @EntityGraph(attributePaths = {"department", "user"})
     Collection<Doctor> findAllByUserIsActive(boolean isActive);
+    @EntityGraph(attributePaths = {"department", "user"})
     Collection<Doctor> findByDepartmentIdAndUserIsActive(Long departmentId, boolean isActive);
 
     boolean existsByIdAndUserIsActive(Long doctorId,  boolean isActive);
 
     boolean existsByDepartmentId(Long id);
+
+    @Query("SELECT d.id FROM Doctor d WHERE d.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
+
+    @Query("""
+        SELECT d FROM Doctor d
+        JOIN FETCH d.department
+        JOIN FETCH d.user u
+        WHERE u.isActive = true
+        AND (:specialization IS NULL OR d.specialization = :specialization)
+        AND (:departmentId IS NULL OR d.department.id = :departmentId)
+    """)
+    List<Doctor> findActiveBySpecializationAndDepartment(Specialization specialization, Long departmentId);
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    @Query(CHANGED_SINCE_QUERY)
+    List<Doctor> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
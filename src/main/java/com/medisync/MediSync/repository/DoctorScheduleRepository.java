@@ -1,16 +1,27 @@
 package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.DoctorSchedule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long> {
+public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long>, ChangeFeedRepository<DoctorSchedule> {
     Optional<DoctorSchedule> findByDoctorIdAndDayOfWeek(Long doctorId, DayOfWeek dayOfWeek);
     List<DoctorSchedule> findByDoctorId(Long doctorId);
+    List<DoctorSchedule> findByDoctorIdIn(Collection<Long> doctorIds);
     boolean existsByDoctorIdAndDayOfWeek(Long doctorId, DayOfWeek dayOfWeek);
+
+    @Override
+    @EntityGraph(attributePaths = "doctor")
+    @Query(CHANGED_SINCE_QUERY)
+    List<DoctorSchedule> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
@@ -1,9 +1,20 @@
 package com.medisync.MediSync.repository;
 
 import com.medisync.MediSync.entity.MedicalRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long>, ChangeFeedRepository<MedicalRecord> {
+
+    @Override
+    @EntityGraph(attributePaths = {"appointment.doctor", "appointment.patient"})
+    @Query(CHANGED_SINCE_QUERY)
+    List<MedicalRecord> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
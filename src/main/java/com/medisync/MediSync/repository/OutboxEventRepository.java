@@ -0,0 +1,47 @@
+package com.medisync.MediSync.repository;
+
+import com.medisync.MediSync.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest undelivered events that are due, locked for the current transaction. Rows another relay has locked are
+     * skipped ({@code FOR UPDATE SKIP LOCKED}), so several nodes can relay side by side without delivering an event
+     * twice. Parked events and events waiting for a retry are left out, as is every event of an appointment with an
+     * earlier undelivered event, even one that is locked by another relay and not visible here as failed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+        SELECT e FROM OutboxEvent e
+        WHERE e.publishedAt IS NULL
+        AND e.parkedAt IS NULL
+        AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)
+        AND NOT EXISTS (
+            SELECT 1 FROM OutboxEvent held
+            WHERE held.appointmentId = e.appointmentId
+            AND held.id < e.id
+            AND held.publishedAt IS NULL
+        )
+        ORDER BY e.id
+    """)
+    List<OutboxEvent> lockDue(LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(LocalDateTime before);
+}
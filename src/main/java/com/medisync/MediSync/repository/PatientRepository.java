@@ -1,13 +1,35 @@
 package com.medisync.MediSync.repository;
 
-import com.medisync.MediSync.entity.Allergy;
 import com.medisync.MediSync.entity.Patient;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
-    List<Patient> findAllByAllergiesContaining(Allergy allergy);
+public interface PatientRepository extends JpaRepository<Patient, Long>, ChangeFeedRepository<Patient> {
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE patients SET updated_at = :now
+        WHERE id IN (SELECT patient_id FROM patients_allergies WHERE allergies_id = :allergyId)
+        """, nativeQuery = true)
+    int touchPatientsWithAllergy(Long allergyId, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM patients_allergies WHERE allergies_id = :allergyId", nativeQuery = true)
+    int removeAllergyFromPatients(Long allergyId);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    @Query(CHANGED_SINCE_QUERY)
+    List<Patient> findChangedSince(LocalDateTime afterTime, Long afterId, LocalDateTime until, Limit limit);
 }
@@ -0,0 +1,37 @@
+package com.medisync.MediSync.repository.projection;
+
+import com.medisync.MediSync.entity.enums.AppointmentStatus;
+import com.medisync.MediSync.entity.enums.Gender;
+import com.medisync.MediSync.entity.enums.Specialization;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One appointment flattened with its doctor, department, patient and (optional) medical record for analytics extracts.
+ * {@code modifiedAt} is the last change to the appointment; changes to its medical record touch the appointment too.
+ */
+public record AppointmentExportRow(
+        Long appointmentId,
+        LocalDateTime appointmentTime,
+        AppointmentStatus status,
+        String reason,
+        LocalDateTime createdAt,
+        LocalDateTime modifiedAt,
+        Long doctorId,
+        String doctorFirstName,
+        String doctorLastName,
+        Specialization specialization,
+        Long departmentId,
+        String departmentName,
+        Long patientId,
+        String patientFirstName,
+        String patientLastName,
+        LocalDate patientDateOfBirth,
+        Gender patientGender,
+        Long medicalRecordId,
+        String diagnosis,
+        String treatmentPlan,
+        String prescription
+) {
+}
@@ -0,0 +1,6 @@
+package com.medisync.MediSync.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record BookedSlot(Long doctorId, LocalDateTime appointmentTime) {
+}
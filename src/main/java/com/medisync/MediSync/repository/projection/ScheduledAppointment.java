@@ -0,0 +1,6 @@
+package com.medisync.MediSync.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record ScheduledAppointment(Long id, Long doctorId, Long patientId, LocalDateTime appointmentTime) {
+}
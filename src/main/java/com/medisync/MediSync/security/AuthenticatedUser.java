@@ -0,0 +1,54 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.entity.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of an authenticated request, built from the token claims. Carries the ids needed for ownership checks
+ * so that services do not have to look the user up again.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+    private final Long userId;
+    private final String email;
+    private final Role role;
+    private final Long patientId;
+    private final Long doctorId;
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    public boolean isPatient(Long patientId) {
+        return this.patientId != null && this.patientId.equals(patientId);
+    }
+
+    public boolean isDoctor(Long doctorId) {
+        return this.doctorId != null && this.doctorId.equals(doctorId);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
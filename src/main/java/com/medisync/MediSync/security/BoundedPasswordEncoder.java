@@ -0,0 +1,116 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the delegate encoder on a small dedicated pool, so a burst of logins or registrations can only use that many
+ * CPUs and the remaining request threads stay responsive. Work that finds the queue full, or waits longer than the
+ * configured timeout, fails with {@link ServiceOverloadedException} instead of queueing without bound.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    public static final String HASHING_TIMER = "medisync.password.hashing";
+    public static final String QUEUE_WAIT_TIMER = "medisync.password.hashing.queue.wait";
+    public static final String REJECTIONS_COUNTER = "medisync.password.hashing.rejections";
+
+    private static final String OVERLOADED_MESSAGE = "Too many concurrent sign-ins, please retry shortly.";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWaitTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ApplicationProperties.PasswordHashing settings,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = settings.getTimeout();
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueWaitTimer = Timer.builder(QUEUE_WAIT_TIMER).register(meterRegistry);
+
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * The wrapped encoder, for bulk work that runs on its own smaller pool instead of taking the threads of sign-ins.
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Timer hashingTimer = meterRegistry.timer(HASHING_TIMER, "operation", operation);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashingTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            throw rejected("queue_full");
+        }
+
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw rejected("timeout");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected("interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceOverloadedException rejected(String reason) {
+        meterRegistry.counter(REJECTIONS_COUNTER, "reason", reason).increment();
+        return new ServiceOverloadedException(OVERLOADED_MESSAGE);
+    }
+}
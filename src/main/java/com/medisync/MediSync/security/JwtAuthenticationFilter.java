@@ -1,15 +1,15 @@
 package com.medisync.MediSync.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,35 +18,41 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String TOKEN_AUTHENTICATION_TIMER = "medisync.auth.token";
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtService.extractEmail(jwt);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        try {
+            Claims claims = jwtService.parseClaims(authHeader.substring(7));
+            outcome = "rejected";
+
+            if (SecurityContextHolder.getContext().getAuthentication() == null && jwtService.isTokenValid(claims)) {
+                AuthenticatedUser user = jwtService.extractUser(claims);
 
-            if (jwtService.validateToken(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        user, null, user.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                outcome = "authenticated";
             }
+        } finally {
+            sample.stop(meterRegistry.timer(TOKEN_AUTHENTICATION_TIMER, "outcome", outcome));
         }
+
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,50 +1,114 @@
 package com.medisync.MediSync.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.entity.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
-    private final ApplicationProperties applicationProperties;
+    public static final Duration TOKEN_VALIDITY = Duration.ofHours(10);
 
-    public String generateToken(String email) {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String PATIENT_ID_CLAIM = "pid";
+    private static final String DOCTOR_ID_CLAIM = "did";
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    // Tokens whose signature has already been verified, each kept until it expires. The cache is lock-free on reads,
+    // so authenticated requests neither contend on it nor pin virtual threads.
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfter(new UntilTokenExpiry())
+            .build();
+
+    public JwtService(ApplicationProperties applicationProperties, TokenRevocationRegistry tokenRevocationRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(applicationProperties.getSecretKey().getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
+    public String generateToken(AuthenticatedUser user) {
 
         Instant now = Instant.now();
 
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getUserId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(PATIENT_ID_CLAIM, user.getPatientId())
+                .claim(DOCTOR_ID_CLAIM, user.getDoctorId())
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plus(10, ChronoUnit.HOURS)))
-                .signWith(Keys.hmacShaKeyFor(applicationProperties.getSecretKey().getBytes()), SignatureAlgorithm.HS256)
+                .setExpiration(Date.from(now.plus(TOKEN_VALIDITY)))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(applicationProperties.getSecretKey().getBytes())).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    public Claims parseClaims(String token) {
+        return verifiedTokens.get(token, unverified -> parser.parseClaimsJws(unverified).getBody());
+    }
+
+    public Long extractUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public AuthenticatedUser extractUser(Claims claims) {
+        return AuthenticatedUser.builder()
+                .userId(extractUserId(claims))
+                .email(claims.getSubject())
+                .role(Role.valueOf(claims.get(ROLE_CLAIM, String.class)))
+                .patientId(claims.get(PATIENT_ID_CLAIM, Long.class))
+                .doctorId(claims.get(DOCTOR_ID_CLAIM, Long.class))
+                .build();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expirationDate = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(applicationProperties.getSecretKey().getBytes())).build()
-                .parseClaimsJws(token).getBody().getExpiration();
-        return expirationDate.before(new Date());
+    public boolean isTokenValid(Claims claims) {
+        Long userId = extractUserId(claims);
+
+        return claims.getSubject() != null
+                && userId != null
+                && claims.get(ROLE_CLAIM) != null
+                && claims.getIssuedAt() != null
+                && !isExpired(claims)
+                && !tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt());
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiration().toInstant()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
 }
@@ -0,0 +1,25 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.entity.User;
+import com.medisync.MediSync.entity.enums.Role;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * A user as loaded to check a login. Carries the id and role, so the token can be issued from the authentication
+ * result without looking the user up again.
+ */
+@Getter
+public class LoginPrincipal extends org.springframework.security.core.userdetails.User {
+    private final Long userId;
+    private final Role role;
+
+    public LoginPrincipal(User user) {
+        super(user.getEmail(), user.getPassword(), user.getIsActive(), true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.userId = user.getId();
+        this.role = user.getRole();
+    }
+}
@@ -0,0 +1,77 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.invalidation.InvalidationBus;
+import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.util.AfterCommit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Users whose tokens issued up to a given instant must no longer be accepted, e.g. after deactivation or a password
+ * change. Entries older than the token lifetime are dropped, since every token they could reject has expired.
+ * Revocations are broadcast so that the other nodes reject the tokens as well.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    public static final String INVALIDATION_REGION = "token-revocations";
+
+    private final UserRepository userRepository;
+    private final InvalidationBus invalidationBus;
+
+    private final ConcurrentMap<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(UserRepository userRepository, InvalidationBus invalidationBus) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(INVALIDATION_REGION, this::onRemoteRevocation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void revokeInactiveUsers() {
+        Instant now = Instant.now();
+        userRepository.findInactiveUserIds().forEach(userId -> revokedBefore.put(userId, now));
+    }
+
+    /**
+     * Revokes the user's tokens once the current transaction commits (right away outside one), so a change that rolls
+     * back does not log the user out.
+     */
+    public void revokeTokensOf(Long userId) {
+        AfterCommit.run(() -> {
+            revoke(userId);
+            invalidationBus.publish(INVALIDATION_REGION, userId.toString());
+        });
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Instant revokedAt = revokedBefore.get(userId);
+        // Token timestamps have second precision, so a token issued in the second of revocation is rejected as well.
+        return revokedAt != null && !issuedAt.toInstant().isAfter(revokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private void onRemoteRevocation(String userId) {
+        if (userId == null) {
+            revokeInactiveUsers();
+            return;
+        }
+        revoke(Long.valueOf(userId));
+    }
+
+    private void revoke(Long userId) {
+        revokedBefore.put(userId, Instant.now());
+        purgeExpired();
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(JwtService.TOKEN_VALIDITY);
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.isBefore(cutoff));
+    }
+}
@@ -6,6 +6,7 @@ import com.medisync.MediSync.entity.enums.Role;
 import com.medisync.MediSync.entity.User;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
 import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.security.TokenRevocationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +22,7 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
 
     public UserDto registerAdmin(AdminRegistrationDto registrationDto) {
@@ -57,6 +59,7 @@ public class AdminService {
         }
 
         userRepository.delete(admin);
+        tokenRevocationRegistry.revokeTokensOf(adminId);
     }
 
 }
\ No newline at end of file
@@ -1,17 +1,20 @@
 package com.medisync.MediSync.service;
 
+import com.medisync.MediSync.config.CacheConfig;
 import com.medisync.MediSync.dto.AllergyCreateDto;
 import com.medisync.MediSync.dto.AllergyDto;
 import com.medisync.MediSync.entity.Allergy;
-import com.medisync.MediSync.entity.Patient;
 import com.medisync.MediSync.entity.enums.AllergyCategory;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
 import com.medisync.MediSync.repository.AllergyRepository;
 import com.medisync.MediSync.repository.PatientRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -21,6 +24,7 @@ public class AllergyService {
     private final AllergyRepository allergyRepository;
     private final PatientRepository patientRepository;
 
+    @Cacheable(CacheConfig.ALLERGIES)
     public List<AllergyDto> getAllAllergies() {
         return allergyRepository.findAll().stream()
                 .map(AllergyDto::mapToDto)
@@ -32,6 +36,7 @@ public class AllergyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Allergy with id=" + allergyId + " not found")));
     }
 
+    @CacheEvict(value = CacheConfig.ALLERGIES, allEntries = true)
     public AllergyDto createAllergy(AllergyCreateDto allergyCreateDto) {
         Allergy allergy = Allergy.builder()
                 .name(allergyCreateDto.getName())
@@ -42,6 +47,7 @@ public class AllergyService {
         return AllergyDto.mapToDto(allergyRepository.save(allergy));
     }
 
+    @CacheEvict(value = CacheConfig.ALLERGIES, allEntries = true)
     public AllergyDto updateAllergy(Long allergyId, AllergyCreateDto allergyCreateDto) {
         Allergy allergy = allergyRepository.findById(allergyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Allergy with id=" + allergyId + " not found"));
@@ -54,18 +60,14 @@ public class AllergyService {
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.ALLERGIES, allEntries = true)
     public void deleteAllergy(Long allergyId) {
-        Allergy allergy = allergyRepository.findById(allergyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Allergy with id=" + allergyId + " not found"));
-
-        List<Patient> patientsWithAllergy = patientRepository.findAllByAllergiesContaining(allergy);
-
-        for (Patient patient : patientsWithAllergy) {
-            patient.getAllergies().remove(allergy);
+        if (!allergyRepository.existsById(allergyId)) {
+            throw new ResourceNotFoundException("Allergy with id=" + allergyId + " not found");
         }
 
-        patientRepository.saveAll(patientsWithAllergy);
-
+        patientRepository.touchPatientsWithAllergy(allergyId, LocalDateTime.now());
+        patientRepository.removeAllergyFromPatients(allergyId);
         allergyRepository.deleteById(allergyId);
     }
 }
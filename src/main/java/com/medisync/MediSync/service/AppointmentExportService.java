@@ -0,0 +1,157 @@
+package com.medisync.MediSync.service;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.medisync.MediSync.dto.PageCursor;
+import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.repository.AppointmentRepository;
+import com.medisync.MediSync.repository.DepartmentRepository;
+import com.medisync.MediSync.repository.projection.AppointmentExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams appointments joined with their doctor, department, patient and medical record as NDJSON or CSV. Rows are
+ * read through a forward-only cursor and written one by one, so memory use does not depend on the size of the extract.
+ * Rows come out ordered by their last modification; every row carries a watermark that can be passed back as
+ * {@code since} to resume after it.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentExportService {
+
+    private static final List<CsvColumn> CSV_COLUMNS = List.of(
+            new CsvColumn("appointmentId", AppointmentExportRow::appointmentId),
+            new CsvColumn("appointmentTime", AppointmentExportRow::appointmentTime),
+            new CsvColumn("status", AppointmentExportRow::status),
+            new CsvColumn("reason", AppointmentExportRow::reason),
+            new CsvColumn("createdAt", AppointmentExportRow::createdAt),
+            new CsvColumn("modifiedAt", AppointmentExportRow::modifiedAt),
+            new CsvColumn("doctorId", AppointmentExportRow::doctorId),
+            new CsvColumn("doctorFirstName", AppointmentExportRow::doctorFirstName),
+            new CsvColumn("doctorLastName", AppointmentExportRow::doctorLastName),
+            new CsvColumn("specialization", AppointmentExportRow::specialization),
+            new CsvColumn("departmentId", AppointmentExportRow::departmentId),
+            new CsvColumn("departmentName", AppointmentExportRow::departmentName),
+            new CsvColumn("patientId", AppointmentExportRow::patientId),
+            new CsvColumn("patientFirstName", AppointmentExportRow::patientFirstName),
+            new CsvColumn("patientLastName", AppointmentExportRow::patientLastName),
+            new CsvColumn("patientDateOfBirth", AppointmentExportRow::patientDateOfBirth),
+            new CsvColumn("patientGender", AppointmentExportRow::patientGender),
+            new CsvColumn("medicalRecordId", AppointmentExportRow::medicalRecordId),
+            new CsvColumn("diagnosis", AppointmentExportRow::diagnosis),
+            new CsvColumn("treatmentPlan", AppointmentExportRow::treatmentPlan),
+            new CsvColumn("prescription", AppointmentExportRow::prescription),
+            new CsvColumn("watermark", AppointmentExportService::watermark)
+    );
+
+    private final AppointmentRepository appointmentRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public record ExportFilter(Long departmentId, LocalDateTime from, LocalDateTime to,
+                               LocalDateTime until, PageCursor since) {
+    }
+
+    /**
+     * Validates the request up front, before any part of the response is committed.
+     */
+    public ExportFilter filter(Long departmentId, LocalDate from, LocalDate to, String since) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' date must not be after 'to' date.");
+        }
+        if (departmentId != null && !departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + departmentId);
+        }
+
+        return new ExportFilter(
+                departmentId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                LocalDateTime.now().minus(PageCursor.SETTLE_TIME),
+                PageCursor.decode(since)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ExportFilter filter, Format format, boolean gzip, OutputStream output) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(output) : output;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        PageCursor since = filter.since() != null ? filter.since() : PageCursor.START;
+        try (Stream<AppointmentExportRow> stream = appointmentRepository.streamForExport(
+                filter.departmentId(), filter.from(), filter.to(), filter.until(),
+                since.timestamp(), since.id())) {
+
+            if (format == Format.CSV) {
+                writeCsvLine(writer, CSV_COLUMNS.stream().map(CsvColumn::name).iterator());
+            }
+
+            for (Iterator<AppointmentExportRow> iterator = stream.iterator(); iterator.hasNext(); rows++) {
+                AppointmentExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, CSV_COLUMNS.stream().map(column -> column.value().apply(row)).iterator());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(new NdjsonLine(row, watermark(row))));
+                    writer.write('\n');
+                }
+            }
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipOutput) {
+            gzipOutput.finish();
+        }
+        return rows;
+    }
+
+    private static String watermark(AppointmentExportRow row) {
+        return new PageCursor(row.modifiedAt(), row.appointmentId()).encode();
+    }
+
+    private static void writeCsvLine(Writer writer, Iterator<?> values) throws IOException {
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+            if (values.hasNext()) {
+                writer.write(',');
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record CsvColumn(String name, Function<AppointmentExportRow, Object> value) {
+    }
+
+    private record NdjsonLine(@JsonUnwrapped AppointmentExportRow row, String watermark) {
+    }
+}
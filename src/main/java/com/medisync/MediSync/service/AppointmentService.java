@@ -2,15 +2,29 @@ package com.medisync.MediSync.service;
 
 import com.medisync.MediSync.dto.AppointmentBookDto;
 import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.dto.AppointmentSeriesBookDto;
+import com.medisync.MediSync.dto.AvailableSlotDto;
+import com.medisync.MediSync.dto.CursorPageDto;
 import com.medisync.MediSync.dto.MedicalRecordCreateDto;
 import com.medisync.MediSync.dto.MedicalRecordDto;
+import com.medisync.MediSync.dto.PageCursor;
 import com.medisync.MediSync.entity.*;
 import com.medisync.MediSync.entity.enums.AppointmentDuration;
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
 import com.medisync.MediSync.entity.enums.AppointmentStatus;
 import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.entity.enums.Specialization;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.outbox.AppointmentEventOutbox;
 import com.medisync.MediSync.repository.*;
+import com.medisync.MediSync.repository.projection.BookedSlot;
+import com.medisync.MediSync.security.AuthenticatedUser;
+import com.medisync.MediSync.service.SlotAvailabilityIndex.DayOccupancy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,32 +32,49 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
+    private static final int MAX_SEARCH_DAYS = 31;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Upper bound of an open date range, so appointment pages always seek on a closed time range.
+    private static final LocalDateTime LATEST_APPOINTMENT = LocalDate.of(9999, 1, 1).atStartOfDay();
+
+    private static final String BOOKING_TIMER = "medisync.appointments.booking";
+    private static final String BOOKING_INSERT_TIMER = "medisync.appointments.booking.insert";
+    private static final String BOOKING_REJECTIONS_COUNTER = "medisync.appointments.booking.rejections";
+    private static final String SLOT_LOOKUP_TIMER = "medisync.slots.lookup";
+    private static final String SLOT_SEARCH_TIMER = "medisync.slots.search";
+    private static final String SLOT_INDEX_LOADS_COUNTER = "medisync.slots.index.loads";
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorScheduleRepository doctorScheduleRepository;
     private final MedicalRecordRepository medicalRecordRepository;
-    private final UserRepository userRepository;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final AppointmentEventOutbox appointmentEventOutbox;
+    private final MeterRegistry meterRegistry;
 
-    public AppointmentDto findById(Long id, String currentUserEmail) {
+    public AppointmentDto findById(Long id, AuthenticatedUser currentUser) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment with id=" + id + " not found."));
 
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        boolean isAdmin = currentUser.getRole() == Role.ADMIN;
-        boolean isOwnerPatient = appointment.getPatient().getUser().getEmail().equals(currentUserEmail);
-        boolean isAssignedDoctor = appointment.getDoctor().getUser().getEmail().equals(currentUserEmail);
+        boolean isAdmin = currentUser.isAdmin();
+        boolean isOwnerPatient = currentUser.isPatient(appointment.getPatient().getId());
+        boolean isAssignedDoctor = currentUser.isDoctor(appointment.getDoctor().getId());
 
         if (!isAdmin && !isOwnerPatient && !isAssignedDoctor) {
             throw new org.springframework.security.access.AccessDeniedException(
@@ -54,15 +85,16 @@ public class AppointmentService {
         return AppointmentDto.mapToDto(appointment);
     }
 
-    public List<AppointmentDto> getPatientAppointments(Long patientId, String currentUserEmail) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new ResourceNotFoundException("Patient with id=" + patientId + " not found."));
-
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public CursorPageDto<AppointmentDto> getPatientAppointments(Long patientId, String status,
+                                                                LocalDate from, LocalDate to,
+                                                                String cursor, int size,
+                                                                AuthenticatedUser currentUser) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new ResourceNotFoundException("Patient with id=" + patientId + " not found.");
+        }
 
         boolean isPatient = currentUser.getRole() == Role.PATIENT;
-        boolean isOwnerPatient = patient.getUser().getEmail().equals(currentUserEmail);
+        boolean isOwnerPatient = currentUser.isPatient(patientId);
 
         if (isPatient && !isOwnerPatient) {
             throw new org.springframework.security.access.AccessDeniedException(
@@ -70,61 +102,194 @@ public class AppointmentService {
             );
         }
 
-        List<Appointment> appointments = appointmentRepository.findByPatient(patient);
-        return appointments.stream().map(AppointmentDto::mapToDto).toList();
+        validatePageRequest(from, to, size);
+        PageCursor after = PageCursor.decode(cursor);
+
+        AppointmentStatus appointmentStatus = parseStatus(status);
+        LocalDateTime start = rangeStart(from);
+        LocalDateTime end = rangeEnd(to);
+
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findPatientAppointmentPage(
+                        patientId, appointmentStatus, start, end, Limit.of(size + 1))
+                : appointmentRepository.findPatientAppointmentPageAfter(
+                        patientId, appointmentStatus, start, end, after.timestamp(), after.id(), Limit.of(size + 1));
+
+        return toAppointmentPage(appointments, size);
     }
 
-    public List<AppointmentDto> getDoctorAppointments(Long doctorId) {
-        Doctor doctor = doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor with id=" + doctorId + " not found."));
+    public CursorPageDto<AppointmentDto> getDoctorAppointments(Long doctorId, String status,
+                                                               LocalDate from, LocalDate to,
+                                                               String cursor, int size) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor with id=" + doctorId + " not found.");
+        }
+
+        validatePageRequest(from, to, size);
+        PageCursor after = PageCursor.decode(cursor);
 
-        List<Appointment> appointments = appointmentRepository.findByDoctor(doctor);
-        return appointments.stream().map(AppointmentDto::mapToDto).toList();
+        AppointmentStatus appointmentStatus = parseStatus(status);
+        LocalDateTime start = rangeStart(from);
+        LocalDateTime end = rangeEnd(to);
+
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findDoctorAppointmentPage(
+                        doctorId, appointmentStatus, start, end, Limit.of(size + 1))
+                : appointmentRepository.findDoctorAppointmentPageAfter(
+                        doctorId, appointmentStatus, start, end, after.timestamp(), after.id(), Limit.of(size + 1));
+
+        return toAppointmentPage(appointments, size);
     }
 
     public List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date) {
+        return meterRegistry.timer(SLOT_LOOKUP_TIMER).record(() -> findAvailableSlots(doctorId, date));
+    }
+
+    private List<LocalTime> findAvailableSlots(Long doctorId, LocalDate date) {
 
         if (date.isBefore(LocalDate.now())) {
             return Collections.emptyList();
         }
 
+        DayOccupancy dayOccupancy = slotAvailabilityIndex.get(doctorId, date, () -> loadDayOccupancy(doctorId, date));
+
+        if (!dayOccupancy.isWorking()) {
+            throw new ResourceNotFoundException("Doctor is not working on " + date.getDayOfWeek());
+        }
+
+        return dayOccupancy.availableSlots(date.equals(LocalDate.now()) ? LocalTime.now() : null);
+    }
+
+    private DayOccupancy loadDayOccupancy(Long doctorId, LocalDate date) {
+        meterRegistry.counter(SLOT_INDEX_LOADS_COUNTER).increment();
+
+        SlotTemplate template = slotAvailabilityIndex.template(doctorId, date.getDayOfWeek(),
+                () -> loadSlotTemplate(doctorId, date.getDayOfWeek()));
+
+        if (template.slotCount() == 0) {
+            return DayOccupancy.of(template, Collections.emptyList());
+        }
+
+        List<LocalDateTime> bookedTimes = appointmentRepository.findBookedTimesByDoctorId(
+                doctorId, template.timeOf(0).atDate(date), template.timeOf(template.slotCount() - 1).atDate(date)
+        );
+
+        return DayOccupancy.of(template, bookedTimes);
+    }
+
+    private SlotTemplate loadSlotTemplate(Long doctorId, DayOfWeek dayOfWeek) {
         if (!doctorRepository.existsByIdAndUserIsActive(doctorId, true)) {
             throw new ResourceNotFoundException("No active doctor with id=" + doctorId + " found.");
         }
 
-        DoctorSchedule doctorSchedule = doctorScheduleRepository
-                .findByDoctorIdAndDayOfWeek(doctorId, date.getDayOfWeek())
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor is not working on " + date.getDayOfWeek()));
+        return doctorScheduleRepository.findByDoctorIdAndDayOfWeek(doctorId, dayOfWeek)
+                .map(doctorSchedule -> SlotTemplate.of(
+                        doctorSchedule.getStartTime(),
+                        doctorSchedule.getEndTime(),
+                        doctorSchedule.getDoctor().getAppointmentDuration().getMinutes()
+                ))
+                .orElse(SlotTemplate.NOT_WORKING);
+    }
 
-        Doctor doctor = doctorSchedule.getDoctor();
-        int duration = doctor.getAppointmentDuration().getMinutes();
+    public List<AvailableSlotDto> searchAvailableSlots(String specialization, Long departmentId,
+                                                       LocalDate from, LocalDate to, int limit) {
+        return meterRegistry.timer(SLOT_SEARCH_TIMER).record(
+                () -> findAvailableSlots(specialization, departmentId, from, to, limit)
+        );
+    }
 
-        LocalDateTime startTime = doctorSchedule.getStartTime().atDate(date);
-        LocalDateTime endTime  = doctorSchedule.getEndTime().atDate(date);
+    private List<AvailableSlotDto> findAvailableSlots(String specialization, Long departmentId,
+                                                      LocalDate from, LocalDate to, int limit) {
+        if (specialization == null && departmentId == null) {
+            throw new IllegalArgumentException("Either a specialization or a department id is required.");
+        }
 
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
-                doctorId, startTime, endTime
-        );
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
 
-        Set<LocalTime> bookedSlots = appointments.stream()
-                .map(appointment -> appointment.getAppointmentTime().toLocalTime())
-                .collect(Collectors.toSet());
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("Search range cannot exceed " + MAX_SEARCH_DAYS + " days.");
+        }
 
-        List<LocalTime> availableSlots = new ArrayList<>();
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS + ".");
+        }
 
-        for (
-                LocalTime slot = doctorSchedule.getStartTime();
-                slot.plusMinutes(duration).isBefore(doctorSchedule.getEndTime())||
-                slot.plusMinutes(duration).equals(doctorSchedule.getEndTime());
-                slot = slot.plusMinutes(duration)
-        ) {
-            if (date.equals(LocalDate.now()) && slot.isBefore(LocalTime.now())) {
-                continue;
-            }
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = from.isBefore(today) ? today : from;
+
+        if (startDate.isAfter(to)) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Doctor> doctors = doctorRepository.findActiveBySpecializationAndDepartment(
+                        specialization != null ? Specialization.valueOf(specialization.toUpperCase()) : null,
+                        departmentId
+                ).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+
+        if (doctors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Map<DayOfWeek, SlotTemplate>> templates = doctorScheduleRepository.findByDoctorIdIn(doctors.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        schedule -> schedule.getDoctor().getId(),
+                        Collectors.toMap(DoctorSchedule::getDayOfWeek, schedule -> SlotTemplate.of(
+                                schedule.getStartTime(),
+                                schedule.getEndTime(),
+                                doctors.get(schedule.getDoctor().getId()).getAppointmentDuration().getMinutes()
+                        ))
+                ));
+
+        if (templates.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            if (!bookedSlots.contains(slot)) {
-                availableSlots.add(slot);
+        Map<Long, Map<LocalDate, List<LocalDateTime>>> bookedSlots = appointmentRepository.findBookedSlotsByDoctorIds(
+                        templates.keySet(), startDate.atStartOfDay(), to.atTime(LocalTime.MAX)
+                ).stream()
+                .collect(Collectors.groupingBy(
+                        BookedSlot::doctorId,
+                        Collectors.groupingBy(
+                                slot -> slot.appointmentTime().toLocalDate(),
+                                Collectors.mapping(BookedSlot::appointmentTime, Collectors.toList())
+                        )
+                ));
+
+        List<AvailableSlotDto> availableSlots = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(to) && availableSlots.size() < limit; date = date.plusDays(1)) {
+            LocalTime notBefore = date.equals(today) ? LocalTime.now() : null;
+            List<SlotCandidate> candidates = new ArrayList<>();
+
+            for (Map.Entry<Long, Map<DayOfWeek, SlotTemplate>> doctorTemplates : templates.entrySet()) {
+                SlotTemplate template = doctorTemplates.getValue().get(date.getDayOfWeek());
+                if (template == null) {
+                    continue;
+                }
+
+                Doctor doctor = doctors.get(doctorTemplates.getKey());
+                List<LocalDateTime> bookedTimes = bookedSlots
+                        .getOrDefault(doctor.getId(), Collections.emptyMap())
+                        .getOrDefault(date, Collections.emptyList());
+
+                // The earliest remaining slots of the day are among the earliest of every single doctor.
+                for (LocalTime slot : DayOccupancy.of(template, bookedTimes)
+                        .availableSlots(notBefore, limit - availableSlots.size())) {
+                    candidates.add(new SlotCandidate(slot.atDate(date), doctor));
+                }
             }
+
+            candidates.stream()
+                    .sorted(Comparator.comparing(SlotCandidate::slotTime)
+                            .thenComparing(candidate -> candidate.doctor().getId()))
+                    .limit(limit - availableSlots.size())
+                    .forEach(candidate -> availableSlots.add(
+                            AvailableSlotDto.mapToDto(candidate.doctor(), candidate.slotTime())
+                    ));
         }
 
         return availableSlots;
@@ -132,23 +297,141 @@ public class AppointmentService {
 
     @Transactional
     public AppointmentDto bookAppointment(AppointmentBookDto appointmentBookDto){
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+
+        try {
+            AppointmentDto appointment = placeAppointment(appointmentBookDto);
+            outcome = "booked";
+            return appointment;
+        } finally {
+            sample.stop(meterRegistry.timer(BOOKING_TIMER, "outcome", outcome));
+        }
+    }
 
-        Doctor doctor = doctorRepository.findByIdWithLock(appointmentBookDto.getDoctorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor with id=" + appointmentBookDto.getDoctorId() + " not found."));
+    private AppointmentDto placeAppointment(AppointmentBookDto appointmentBookDto) {
+
+        Doctor doctor = doctorRepository.findById(appointmentBookDto.getDoctorId())
+                .orElseThrow(() -> bookingRejected("doctor_not_found",
+                        new ResourceNotFoundException("Doctor with id=" + appointmentBookDto.getDoctorId() + " not found.")));
+
+        if (!doctor.getUser().getIsActive()) {
+            throw bookingRejected("doctor_inactive", new IllegalStateException("Doctor account is not active."));
+        }
+
+        DayOfWeek dayOfWeek = appointmentBookDto.getAppointmentTime().getDayOfWeek();
+
+        DoctorSchedule doctorSchedule = doctorScheduleRepository.findByDoctorIdAndDayOfWeek(doctor.getId(), dayOfWeek)
+                .orElseThrow(() -> bookingRejected("not_working_day",
+                        new IllegalArgumentException("Doctor is not working on " + dayOfWeek)));
+
+        try {
+            validateAgainstSchedule(appointmentBookDto.getAppointmentTime(), doctorSchedule, doctor.getAppointmentDuration());
+        } catch (IllegalArgumentException e) {
+            throw bookingRejected("outside_schedule", e);
+        }
+
+        Patient patient = patientRepository.findById(appointmentBookDto.getPatientId())
+                .orElseThrow(() -> bookingRejected("patient_not_found",
+                        new ResourceNotFoundException("Patient with id=" + appointmentBookDto.getPatientId() + " not found.")));
+
+        Appointment newAppointment = Appointment.builder()
+                .appointmentTime(appointmentBookDto.getAppointmentTime())
+                .reason(appointmentBookDto.getReason())
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(patient)
+                .build();
+
+        Appointment appointment;
+        try {
+            appointment = meterRegistry.timer(BOOKING_INSERT_TIMER)
+                    .record(() -> appointmentRepository.saveAndFlush(newAppointment));
+        } catch (DataIntegrityViolationException e) {
+            throw bookingRejected("slot_taken", new IllegalStateException("Doctor is already booked for this time slot."));
+        }
+
+        slotAvailabilityIndex.markBooked(doctor.getId(), appointment.getAppointmentTime());
+        appointmentEventOutbox.record(AppointmentEventType.BOOKED, appointment);
+
+        return AppointmentDto.mapToDto(appointment);
+    }
+
+    private RuntimeException bookingRejected(String reason, RuntimeException exception) {
+        meterRegistry.counter(BOOKING_REJECTIONS_COUNTER, "reason", reason).increment();
+        return exception;
+    }
+
+    @Transactional
+    public List<AppointmentDto> bookAppointmentSeries(AppointmentSeriesBookDto appointmentSeriesBookDto) {
+
+        Doctor doctor = doctorRepository.findById(appointmentSeriesBookDto.getDoctorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor with id=" + appointmentSeriesBookDto.getDoctorId() + " not found."));
 
         if (!doctor.getUser().getIsActive()) {
             throw new IllegalStateException("Doctor account is not active.");
         }
 
-        AppointmentDuration appointmentDuration = doctor.getAppointmentDuration();
+        List<LocalDateTime> appointmentTimes = new ArrayList<>();
+        for (int occurrence = 0; occurrence < appointmentSeriesBookDto.getOccurrences(); occurrence++) {
+            appointmentTimes.add(appointmentSeriesBookDto.getFirstAppointmentTime()
+                    .plusWeeks((long) occurrence * appointmentSeriesBookDto.getIntervalWeeks()));
+        }
 
-        LocalDateTime startTime = appointmentBookDto.getAppointmentTime();
-        LocalDateTime endTime = appointmentBookDto.getAppointmentTime().plusMinutes(appointmentDuration.getMinutes());
+        Map<DayOfWeek, DoctorSchedule> doctorSchedules = doctorScheduleRepository.findByDoctorId(doctor.getId()).stream()
+                .collect(Collectors.toMap(DoctorSchedule::getDayOfWeek, Function.identity()));
 
-        DayOfWeek dayOfWeek = appointmentBookDto.getAppointmentTime().getDayOfWeek();
+        for (LocalDateTime appointmentTime : appointmentTimes) {
+            DoctorSchedule doctorSchedule = doctorSchedules.get(appointmentTime.getDayOfWeek());
 
-        DoctorSchedule doctorSchedule = doctorScheduleRepository.findByDoctorIdAndDayOfWeek(doctor.getId(), dayOfWeek)
-                .orElseThrow(() -> new IllegalArgumentException("Doctor is not working on " + dayOfWeek));
+            if (doctorSchedule == null) {
+                throw new IllegalArgumentException("Doctor is not working on " + appointmentTime.getDayOfWeek());
+            }
+
+            validateAgainstSchedule(appointmentTime, doctorSchedule, doctor.getAppointmentDuration());
+        }
+
+        Set<LocalDateTime> bookedTimes = new HashSet<>(appointmentRepository.findBookedTimesByDoctorId(
+                doctor.getId(),
+                appointmentTimes.getFirst(),
+                appointmentTimes.getLast()
+        ));
+
+        List<LocalDateTime> conflicts = appointmentTimes.stream().filter(bookedTimes::contains).toList();
+
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Doctor is already booked for the following time slots: " + conflicts);
+        }
+
+        Patient patient = patientRepository.findById(appointmentSeriesBookDto.getPatientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient with id=" + appointmentSeriesBookDto.getPatientId() + " not found."));
+
+        List<Appointment> appointments = appointmentTimes.stream()
+                .<Appointment>map(appointmentTime -> Appointment.builder()
+                        .appointmentTime(appointmentTime)
+                        .reason(appointmentSeriesBookDto.getReason())
+                        .status(AppointmentStatus.SCHEDULED)
+                        .doctor(doctor)
+                        .patient(patient)
+                        .build())
+                .toList();
+
+        try {
+            appointments = appointmentRepository.saveAllAndFlush(appointments);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Doctor is already booked for one of the requested time slots.");
+        }
+
+        appointments.forEach(appointment ->
+                slotAvailabilityIndex.markBooked(doctor.getId(), appointment.getAppointmentTime()));
+        appointmentEventOutbox.recordAll(AppointmentEventType.BOOKED, appointments);
+
+        return appointments.stream().map(AppointmentDto::mapToDto).toList();
+    }
+
+    static void validateAgainstSchedule(LocalDateTime startTime, DoctorSchedule doctorSchedule,
+                                        AppointmentDuration appointmentDuration) {
+        LocalDateTime endTime = startTime.plusMinutes(appointmentDuration.getMinutes());
 
         if(startTime.toLocalTime().isBefore(doctorSchedule.getStartTime())
                 || endTime.toLocalTime().isAfter(doctorSchedule.getEndTime())){
@@ -168,41 +451,16 @@ public class AppointmentService {
                     appointmentDuration.getMinutes() + " mins). Valid slots are like " +
                     doctorSchedule.getStartTime().plusMinutes(appointmentDuration.getMinutes()));
         }
-
-        boolean notAvailable = appointmentRepository.existsByDoctorAppointmentTime(
-                doctor.getId(),
-                appointmentBookDto.getAppointmentTime()
-        );
-
-        if (notAvailable){
-            throw new IllegalStateException("Doctor is already booked for this time slot.");
-        }
-
-        Patient patient = patientRepository.findById(appointmentBookDto.getPatientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Patient with id=" + appointmentBookDto.getPatientId() + " not found."));
-
-        Appointment appointment = Appointment.builder()
-                .appointmentTime(appointmentBookDto.getAppointmentTime())
-                .reason(appointmentBookDto.getReason())
-                .status(AppointmentStatus.SCHEDULED)
-                .doctor(doctor)
-                .patient(patient)
-                .build();
-
-        return AppointmentDto.mapToDto(appointmentRepository.save(appointment));
     }
 
     @Transactional
-    public MedicalRecordDto completeAppointment(Long appointmentId, MedicalRecordCreateDto medicalRecordCreateDto, String currentUserEmail){
+    public MedicalRecordDto completeAppointment(Long appointmentId, MedicalRecordCreateDto medicalRecordCreateDto, AuthenticatedUser currentUser){
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Appointment with id=" + appointmentId + " not found")
                 );
 
-        userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        boolean isAssignedDoctor = appointment.getDoctor().getUser().getEmail().equals(currentUserEmail);
+        boolean isAssignedDoctor = currentUser.isDoctor(appointment.getDoctor().getId());
 
         if (!isAssignedDoctor) {
             throw new org.springframework.security.access.AccessDeniedException(
@@ -239,23 +497,22 @@ public class AppointmentService {
         appointment.setStatus(AppointmentStatus.COMPLETED);
 
         appointmentRepository.save(appointment);
+        appointmentEventOutbox.record(AppointmentEventType.COMPLETED, appointment);
 
         return MedicalRecordDto.mapToDto(medicalRecord);
 
     }
 
-    public AppointmentDto cancelAppointment(Long appointmentId, String currentUserEmail) {
+    @Transactional
+    public AppointmentDto cancelAppointment(Long appointmentId, AuthenticatedUser currentUser) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment with id=" + appointmentId + " not found"));
 
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        boolean isAdmin = currentUser.isAdmin();
 
-        boolean isAdmin = currentUser.getRole() == Role.ADMIN;
+        boolean isOwnerPatient = currentUser.isPatient(appointment.getPatient().getId());
 
-        boolean isOwnerPatient = appointment.getPatient().getUser().getEmail().equals(currentUserEmail);
-
-        boolean isAssignedDoctor = appointment.getDoctor().getUser().getEmail().equals(currentUserEmail);
+        boolean isAssignedDoctor = currentUser.isDoctor(appointment.getDoctor().getId());
 
         if (!isAdmin && !isOwnerPatient && !isAssignedDoctor) {
             throw new org.springframework.security.access.AccessDeniedException(
@@ -273,19 +530,21 @@ public class AppointmentService {
         }
 
         appointment.setStatus(AppointmentStatus.CANCELLED);
-        return AppointmentDto.mapToDto(appointmentRepository.save(appointment));
+        appointment = appointmentRepository.save(appointment);
+        slotAvailabilityIndex.markFreed(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+        appointmentEventOutbox.record(AppointmentEventType.CANCELLED, appointment);
+
+        return AppointmentDto.mapToDto(appointment);
     }
 
-    public AppointmentDto markNoShow(Long appointmentId, String currentUserEmail) {
+    @Transactional
+    public AppointmentDto markNoShow(Long appointmentId, AuthenticatedUser currentUser) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment with id=" + appointmentId + " not found"));
 
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        boolean isAdmin = currentUser.getRole() == Role.ADMIN;
+        boolean isAdmin = currentUser.isAdmin();
 
-        boolean isAssignedDoctor = appointment.getDoctor().getUser().getEmail().equals(currentUserEmail);
+        boolean isAssignedDoctor = currentUser.isDoctor(appointment.getDoctor().getId());
 
         if (!isAdmin && !isAssignedDoctor) {
             throw new org.springframework.security.access.AccessDeniedException(
@@ -311,6 +570,51 @@ public class AppointmentService {
         }
 
         appointment.setStatus(AppointmentStatus.NO_SHOW);
-        return AppointmentDto.mapToDto(appointmentRepository.save(appointment));
+        appointment = appointmentRepository.save(appointment);
+        appointmentEventOutbox.record(AppointmentEventType.NO_SHOW, appointment);
+
+        return AppointmentDto.mapToDto(appointment);
+    }
+
+    private void validatePageRequest(LocalDate from, LocalDate to, int size) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    private LocalDateTime rangeStart(LocalDate from) {
+        return from != null ? from.atStartOfDay() : PageCursor.START.timestamp();
+    }
+
+    private LocalDateTime rangeEnd(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST_APPOINTMENT;
+    }
+
+    private AppointmentStatus parseStatus(String status) {
+        return status != null ? AppointmentStatus.valueOf(status.toUpperCase()) : null;
+    }
+
+    private CursorPageDto<AppointmentDto> toAppointmentPage(List<Appointment> appointments, int size) {
+        boolean hasMore = appointments.size() > size;
+        List<Appointment> page = hasMore ? appointments.subList(0, size) : appointments;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Appointment last = page.getLast();
+            nextCursor = new PageCursor(last.getAppointmentTime(), last.getId()).encode();
+        }
+
+        return CursorPageDto.<AppointmentDto>builder()
+                .content(page.stream().map(AppointmentDto::mapToDto).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private record SlotCandidate(LocalDateTime slotTime, Doctor doctor) {
     }
 }
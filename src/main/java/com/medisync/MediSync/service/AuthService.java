@@ -2,7 +2,12 @@ package com.medisync.MediSync.service;
 
 import com.medisync.MediSync.dto.AuthTokenDto;
 import com.medisync.MediSync.dto.CredentialsDto;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.repository.DoctorRepository;
+import com.medisync.MediSync.repository.PatientRepository;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import com.medisync.MediSync.security.JwtService;
+import com.medisync.MediSync.security.LoginPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +19,8 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
 
     public AuthTokenDto login(CredentialsDto credentials) {
         Authentication authentication = authenticationManager.authenticate(
@@ -23,8 +30,16 @@ public class AuthService {
                 )
         );
 
-        String email = authentication.getName();
+        LoginPrincipal user = (LoginPrincipal) authentication.getPrincipal();
 
-        return new AuthTokenDto(jwtService.generateToken(email));
+        AuthenticatedUser authenticatedUser = AuthenticatedUser.builder()
+                .userId(user.getUserId())
+                .email(user.getUsername())
+                .role(user.getRole())
+                .patientId(user.getRole() == Role.PATIENT ? patientRepository.findIdByUserId(user.getUserId()).orElse(null) : null)
+                .doctorId(user.getRole() == Role.DOCTOR ? doctorRepository.findIdByUserId(user.getUserId()).orElse(null) : null)
+                .build();
+
+        return new AuthTokenDto(jwtService.generateToken(authenticatedUser));
     }
 }
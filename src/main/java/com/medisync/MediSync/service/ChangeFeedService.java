@@ -0,0 +1,89 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.dto.*;
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.repository.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Pages through the rows of one entity type in the order they were inserted or last updated, so consumers can poll for
+ * deltas instead of re-reading full lists. Deleted rows are not reported.
+ */
+@Service
+public class ChangeFeedService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final Map<String, Feed<?>> feeds;
+
+    public ChangeFeedService(AppointmentRepository appointmentRepository,
+                             PatientRepository patientRepository,
+                             DoctorRepository doctorRepository,
+                             DoctorScheduleRepository doctorScheduleRepository,
+                             MedicalRecordRepository medicalRecordRepository,
+                             DepartmentRepository departmentRepository,
+                             AllergyRepository allergyRepository) {
+        this.feeds = Map.of(
+                "appointments", new Feed<>(appointmentRepository, Appointment::getId, AppointmentDto::mapToDto),
+                "patients", new Feed<>(patientRepository, Patient::getId, PatientDto::mapToDto),
+                "doctors", new Feed<>(doctorRepository, Doctor::getId, DoctorDto::mapToDto),
+                "doctor-schedules", new Feed<>(doctorScheduleRepository, DoctorSchedule::getId, DoctorScheduleDto::mapToDto),
+                "medical-records", new Feed<>(medicalRecordRepository, MedicalRecord::getId, MedicalRecordDto::mapToDto),
+                "departments", new Feed<>(departmentRepository, Department::getId, DepartmentDto::mapToDto),
+                "allergies", new Feed<>(allergyRepository, Allergy::getId, AllergyDto::mapToDto)
+        );
+    }
+
+    /**
+     * Returns the rows changed after {@code cursor} (from the beginning when it is empty). The returned
+     * {@code nextCursor} is set even on the last page: it is where the next poll continues from.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<Object> getChanges(String feedName, String cursor, int size) {
+        Feed<?> feed = feeds.get(feedName);
+        if (feed == null) {
+            throw new ResourceNotFoundException(
+                    "Unknown change feed: " + feedName + ". Available feeds: " + new TreeSet<>(feeds.keySet()));
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        return feed.page(after != null ? after : PageCursor.START,
+                LocalDateTime.now().minus(PageCursor.SETTLE_TIME), size, cursor);
+    }
+
+    private record Feed<T extends BaseEntity>(ChangeFeedRepository<T> repository,
+                                              Function<T, Long> id,
+                                              Function<T, ?> mapper) {
+
+        private CursorPageDto<Object> page(PageCursor after, LocalDateTime until, int size, String cursor) {
+            List<T> rows = repository.findChangedSince(after.timestamp(), after.id(), until, Limit.of(size + 1));
+
+            boolean hasMore = rows.size() > size;
+            List<T> page = hasMore ? rows.subList(0, size) : rows;
+
+            String nextCursor = cursor;
+            if (!page.isEmpty()) {
+                T last = page.getLast();
+                nextCursor = new PageCursor(last.getUpdatedAt(), id.apply(last)).encode();
+            }
+
+            return CursorPageDto.<Object>builder()
+                    .content(page.stream().<Object>map(mapper).toList())
+                    .nextCursor(nextCursor)
+                    .hasMore(hasMore)
+                    .build();
+        }
+    }
+}
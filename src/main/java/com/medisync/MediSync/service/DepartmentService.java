@@ -1,5 +1,6 @@
 package com.medisync.MediSync.service;
 
+import com.medisync.MediSync.config.CacheConfig;
 import com.medisync.MediSync.dto.DepartmentCreateDto;
 import com.medisync.MediSync.dto.DepartmentDto;
 import com.medisync.MediSync.dto.DepartmentUpdateDto;
@@ -10,6 +11,9 @@ import com.medisync.MediSync.repository.DepartmentRepository;
 import com.medisync.MediSync.repository.DoctorRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,6 +26,7 @@ public class DepartmentService {
     private final DoctorRepository doctorRepository;
 
 
+    @Cacheable(CacheConfig.DEPARTMENTS)
     public List<DepartmentDto> getAllDepartments() {
         return departmentRepository.findAll().stream()
                 .map(DepartmentDto::mapToDto)
@@ -34,6 +39,7 @@ public class DepartmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Department with id=" + id + "not found.")));
     }
 
+    @CacheEvict(value = CacheConfig.DEPARTMENTS, allEntries = true)
     public void deleteDepartment(Long id) {
         if (!departmentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Department with id=" + id + " not found.");
@@ -46,6 +52,7 @@ public class DepartmentService {
         departmentRepository.deleteById(id);
     }
 
+    @CacheEvict(value = CacheConfig.DEPARTMENTS, allEntries = true)
     public DepartmentDto createDepartment(DepartmentCreateDto departmentCreateDto) {
         if (departmentRepository.existsByName(departmentCreateDto.getName())) {
             throw new IllegalStateException("Department with name " + departmentCreateDto.getName() + " already exists.");
@@ -57,6 +64,10 @@ public class DepartmentService {
                 .build()));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.DEPARTMENTS, allEntries = true),
+            @CacheEvict(value = CacheConfig.DOCTORS, allEntries = true)
+    })
     public DepartmentDto updateDepartment(Long departmentId, DepartmentUpdateDto departmentUpdateDto) {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Department with id=" + departmentId + " not found."));
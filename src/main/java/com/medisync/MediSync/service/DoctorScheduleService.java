@@ -20,6 +20,8 @@ public class DoctorScheduleService {
 
     private final DoctorRepository doctorRepository;
 
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+
     public List<DoctorScheduleDto> getSchedules(Long doctorId) {
         return doctorScheduleRepository.findByDoctorId(doctorId).stream()
                 .map(DoctorScheduleDto::mapToDto)
@@ -46,7 +48,10 @@ public class DoctorScheduleService {
                 .endTime(doctorScheduleCreateDto.getEndTime())
                 .build();
 
-        return DoctorScheduleDto.mapToDto(doctorScheduleRepository.save(schedule));
+        schedule = doctorScheduleRepository.save(schedule);
+        slotAvailabilityIndex.evictDoctor(doctorId);
+
+        return DoctorScheduleDto.mapToDto(schedule);
     }
 
 
@@ -54,10 +59,18 @@ public class DoctorScheduleService {
         DoctorSchedule schedule = doctorScheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found"));
 
+        boolean slotsChanged = !schedule.getStartTime().equals(doctorScheduleCreateDto.getStartTime())
+                || !schedule.getEndTime().equals(doctorScheduleCreateDto.getEndTime());
+
         schedule.setStartTime(doctorScheduleCreateDto.getStartTime());
         schedule.setEndTime(doctorScheduleCreateDto.getEndTime());
 
-        return DoctorScheduleDto.mapToDto(doctorScheduleRepository.save(schedule));
+        schedule = doctorScheduleRepository.save(schedule);
+        if (slotsChanged) {
+            slotAvailabilityIndex.evictDoctor(schedule.getDoctor().getId());
+        }
+
+        return DoctorScheduleDto.mapToDto(schedule);
     }
 
 
@@ -70,5 +83,6 @@ public class DoctorScheduleService {
         }
 
         doctorScheduleRepository.deleteById(scheduleId);
+        slotAvailabilityIndex.evictDoctor(doctorId);
     }
 }
@@ -1,26 +1,32 @@
 package com.medisync.MediSync.service;
 
+import com.medisync.MediSync.config.CacheConfig;
 import com.medisync.MediSync.dto.DoctorDto;
 import com.medisync.MediSync.dto.DoctorRegistrationDto;
 import com.medisync.MediSync.dto.DoctorUpdateDto;
-import com.medisync.MediSync.entity.Appointment;
 import com.medisync.MediSync.entity.Department;
 import com.medisync.MediSync.entity.Doctor;
 import com.medisync.MediSync.entity.User;
 import com.medisync.MediSync.entity.enums.AppointmentDuration;
-import com.medisync.MediSync.entity.enums.AppointmentStatus;
 import com.medisync.MediSync.entity.enums.Role;
 import com.medisync.MediSync.entity.enums.Specialization;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.outbox.AppointmentEventOutbox;
 import com.medisync.MediSync.repository.AppointmentRepository;
 import com.medisync.MediSync.repository.DepartmentRepository;
 import com.medisync.MediSync.repository.DoctorRepository;
 import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.repository.projection.ScheduledAppointment;
+import com.medisync.MediSync.security.TokenRevocationRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -31,6 +37,9 @@ public class DoctorService {
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
     private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final AppointmentEventOutbox appointmentEventOutbox;
 
     public DoctorDto getDoctorById(Long id) {
         Doctor doctor = doctorRepository.findById(id)
@@ -39,6 +48,7 @@ public class DoctorService {
         return DoctorDto.mapToDto(doctor);
     }
 
+    @Cacheable(CacheConfig.DOCTORS)
     public List<DoctorDto> getDoctors(Long departmentId, boolean deactivated) {
         if (departmentId == null) {
             return doctorRepository.findAllByUserIsActive(!deactivated).stream()
@@ -53,6 +63,7 @@ public class DoctorService {
 
 
     @Transactional
+    @CacheEvict(value = CacheConfig.DOCTORS, allEntries = true)
     public  DoctorDto registerDoctor(DoctorRegistrationDto doctorRegistrationDto) {
 
         if (userRepository.existsByEmail(doctorRegistrationDto.getEmail())){
@@ -86,6 +97,10 @@ public class DoctorService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.DOCTORS, allEntries = true),
+            @CacheEvict(value = CacheConfig.DEPARTMENTS, allEntries = true)
+    })
     public DoctorDto updateDoctor(Long doctorId, DoctorUpdateDto doctorUpdateDto){
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor with id " + doctorId + " not found"));
@@ -95,16 +110,26 @@ public class DoctorService {
                                 "Department with id=" + doctorUpdateDto.getDepartmentId() + " not found"
                         ));
 
+        AppointmentDuration appointmentDuration =
+                AppointmentDuration.valueOf(doctorUpdateDto.getAppointmentDuration().toUpperCase());
+        boolean slotsChanged = doctor.getAppointmentDuration() != appointmentDuration;
+
         doctor.setFirstName(doctorUpdateDto.getFirstName());
         doctor.setLastName(doctorUpdateDto.getLastName());
         doctor.setSpecialization(Specialization.valueOf(doctorUpdateDto.getSpecialization().toUpperCase()));
-        doctor.setAppointmentDuration(AppointmentDuration.valueOf(doctorUpdateDto.getAppointmentDuration().toUpperCase()));
+        doctor.setAppointmentDuration(appointmentDuration);
         doctor.setDepartment(department);
 
-        return DoctorDto.mapToDto(doctorRepository.save(doctor));
+        doctor = doctorRepository.save(doctor);
+        if (slotsChanged) {
+            slotAvailabilityIndex.evictDoctor(doctorId);
+        }
+
+        return DoctorDto.mapToDto(doctor);
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.DOCTORS, allEntries = true)
     public void deactivateDoctor(Long doctorId) {
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor with id " + doctorId + " not found"));
@@ -114,21 +139,20 @@ public class DoctorService {
             throw new IllegalStateException("User is already not active for doctor with id " + doctorId);
         }
 
-        List<Appointment> scheduledAppointments = appointmentRepository.findAllByDoctorIdAndStatus(
-                doctorId,
-                AppointmentStatus.SCHEDULED
-        );
+        List<ScheduledAppointment> cancelledAppointments =
+                appointmentRepository.cancelScheduledByDoctorId(doctorId, LocalDateTime.now());
 
-        for (Appointment appointment : scheduledAppointments) {
-            appointment.setStatus(AppointmentStatus.CANCELLED);
+        if (!cancelledAppointments.isEmpty()) {
+            appointmentEventOutbox.recordCancelled(cancelledAppointments);
         }
 
-        appointmentRepository.saveAll(scheduledAppointments);
-
         user.setIsActive(false);
         userRepository.save(user);
+        tokenRevocationRegistry.revokeTokensOf(user.getId());
+        slotAvailabilityIndex.evictDoctor(doctorId);
     }
 
+    @CacheEvict(value = CacheConfig.DOCTORS, allEntries = true)
     public void activateDoctor(Long doctorId) {
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor with id " + doctorId + " not found"));
@@ -139,6 +163,7 @@ public class DoctorService {
         }
         user.setIsActive(true);
         userRepository.save(user);
+        slotAvailabilityIndex.evictDoctor(doctorId);
     }
 
 }
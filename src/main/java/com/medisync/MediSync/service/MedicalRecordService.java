@@ -12,6 +12,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class MedicalRecordService {
@@ -32,6 +34,7 @@ public class MedicalRecordService {
         appointmentRepository.save(appointment);
     }
 
+    @Transactional
     public MedicalRecordDto updateMedicalRecord(Long medicalRecordId, MedicalRecordCreateDto medicalRecordCreateDto) {
         MedicalRecord medicalRecord = medicalRecordRepository.findById(medicalRecordId)
                 .orElseThrow(() -> new ResourceNotFoundException("Medical Record Not Found"));
@@ -40,6 +43,11 @@ public class MedicalRecordService {
         medicalRecord.setTreatmentPlan(medicalRecordCreateDto.getTreatmentPlan());
         medicalRecord.setPrescription(medicalRecordCreateDto.getPrescription());
 
+        // The appointment export resumes on the appointment's updatedAt, so a record change has to move it as well.
+        Appointment appointment = medicalRecord.getAppointment();
+        appointment.setUpdatedAt(LocalDateTime.now());
+        appointmentRepository.save(appointment);
+
         return MedicalRecordDto.mapToDto(medicalRecordRepository.save(medicalRecord));
     }
 
@@ -0,0 +1,60 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.dto.PatientImportReportDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line patient import, for onboarding files too large to upload:
+ * {@code java -jar medisync.jar --spring.main.web-application-type=none --import-patients=patients.csv}.
+ * Files ending in {@code .csv} are read as CSV, anything else as NDJSON. The report is printed as JSON; the exit code
+ * is 1 if any row failed, and {@code MediSyncApplication} ends the process with it once the context is up.
+ */
+@Component
+@ConditionalOnProperty(PatientImportRunner.PROPERTY)
+@RequiredArgsConstructor
+public class PatientImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final String PROPERTY = "import-patients";
+
+    private final PatientImportService patientImportService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = Path.of(applicationContext.getEnvironment().getRequiredProperty(PROPERTY));
+        PatientImportService.Format format = file.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? PatientImportService.Format.CSV
+                : PatientImportService.Format.NDJSON;
+
+        PatientImportReportDto report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = patientImportService.importPatients(input, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        exitCode = report.getFailedRows() > 0 ? 1 : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
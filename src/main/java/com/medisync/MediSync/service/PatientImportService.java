@@ -0,0 +1,365 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.dto.PatientImportErrorDto;
+import com.medisync.MediSync.dto.PatientImportReportDto;
+import com.medisync.MediSync.dto.PatientRegistrationDto;
+import com.medisync.MediSync.entity.Allergy;
+import com.medisync.MediSync.entity.Patient;
+import com.medisync.MediSync.entity.User;
+import com.medisync.MediSync.entity.enums.Gender;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.repository.AllergyRepository;
+import com.medisync.MediSync.repository.PatientRepository;
+import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.security.BoundedPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Registers patients in bulk from a CSV or NDJSON stream. Rows are validated with the same rules as
+ * {@code POST /api/patients} and imported in chunks: one query per chunk finds already registered emails, passwords
+ * are hashed in parallel, and users, patients and allergy links are inserted as JDBC batches in one transaction per
+ * chunk. Invalid rows are reported and skipped without affecting the rest of the file.
+ * <p>
+ * Passwords are hashed with the plain encoder on a pool of {@code application.password-hashing.import-threads}, not
+ * through the {@link BoundedPasswordEncoder}: an import neither occupies the threads that logins hash on nor fails
+ * rows when sign-ins fill its queue.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatientImportService {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private static final String ALLERGY_ID_SEPARATOR = ";";
+
+    private final UserRepository userRepository;
+    private final PatientRepository patientRepository;
+    private final AllergyRepository allergyRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties applicationProperties;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public PatientImportReportDto importPatients(InputStream input, Format format) {
+        long startedAt = System.nanoTime();
+        ImportRun run = new ImportRun(new HashSet<>(allergyRepository.findAllIds()));
+        PasswordEncoder encoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             ExecutorService hashingPool = Executors.newFixedThreadPool(
+                     applicationProperties.getPasswordHashing().getImportThreads(),
+                     Thread.ofPlatform().name("patient-import-hashing-", 0).daemon().factory())) {
+
+            Map<String, Integer> csvColumns = format == Format.CSV ? readCsvHeader(reader.readLine()) : null;
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = format == Format.CSV ? 1 : 0;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.totalRows++;
+
+                try {
+                    chunk.add(new ImportRow(lineNumber, format == Format.CSV ? parseCsv(line, csvColumns) : parseJson(line)));
+                } catch (IllegalArgumentException e) {
+                    run.fail(lineNumber, null, e.getMessage());
+                }
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, run, encoder, hashingPool);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, run, encoder, hashingPool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long durationNanos = System.nanoTime() - startedAt;
+        run.errors.sort(Comparator.comparingLong(PatientImportErrorDto::getLine));
+        return PatientImportReportDto.builder()
+                .totalRows(run.totalRows)
+                .importedRows(run.importedRows)
+                .failedRows(run.failedRows)
+                .durationMillis(durationNanos / 1_000_000)
+                .rowsPerSecond(durationNanos > 0 ? run.importedRows * 1e9 / durationNanos : 0)
+                .errors(run.errors)
+                .errorsTruncated(run.failedRows > run.errors.size())
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportRun run, PasswordEncoder encoder, ExecutorService hashingPool) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String error = validate(row.patient(), run);
+            if (error != null) {
+                run.fail(row.line(), row.patient().getEmail(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> registered = new HashSet<>(userRepository.findExistingEmails(
+                valid.stream().map(row -> row.patient().getEmail()).toList()));
+        valid.removeIf(row -> {
+            if (registered.contains(row.patient().getEmail())) {
+                run.fail(row.line(), row.patient().getEmail(),
+                        "There is already an account associated with this email: " + row.patient().getEmail());
+                return true;
+            }
+            return false;
+        });
+
+        List<Future<String>> hashes = valid.stream()
+                .map(row -> hashingPool.submit(() -> encoder.encode(row.patient().getPassword())))
+                .toList();
+        List<ImportRow> hashed = new ArrayList<>(valid.size());
+        List<String> passwordHashes = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            try {
+                passwordHashes.add(hashes.get(i).get());
+                hashed.add(valid.get(i));
+            } catch (ExecutionException e) {
+                run.fail(valid.get(i).line(), valid.get(i).patient().getEmail(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Patient import was interrupted.", e);
+            }
+        }
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(hashed, passwordHashes));
+            run.importedRows += hashed.size();
+        } catch (DataAccessException e) {
+            String message = "Chunk could not be saved: " + e.getMostSpecificCause().getMessage();
+            hashed.forEach(row -> run.fail(row.line(), row.patient().getEmail(), message));
+        }
+    }
+
+    private String validate(PatientRegistrationDto patient, ImportRun run) {
+        Set<ConstraintViolation<PatientRegistrationDto>> violations = validator.validate(patient);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        if (!run.seenEmails.add(patient.getEmail())) {
+            return "Duplicate email in import file: " + patient.getEmail();
+        }
+
+        if (patient.getAllergyIds() != null) {
+            List<Long> unknown = patient.getAllergyIds().stream()
+                    .filter(allergyId -> !run.knownAllergyIds.contains(allergyId))
+                    .toList();
+            if (!unknown.isEmpty()) {
+                return "Unknown allergy ids: " + unknown;
+            }
+        }
+
+        return null;
+    }
+
+    private void insert(List<ImportRow> rows, List<String> passwordHashes) {
+        List<User> users = new ArrayList<>(rows.size());
+        List<Patient> patients = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            PatientRegistrationDto registration = rows.get(i).patient();
+            User user = User.builder()
+                    .email(registration.getEmail())
+                    .password(passwordHashes.get(i))
+                    .role(Role.PATIENT)
+                    .isActive(true)
+                    .build();
+            users.add(user);
+
+            patients.add(Patient.builder()
+                    .firstName(registration.getFirstName())
+                    .lastName(registration.getLastName())
+                    .gender(Gender.valueOf(registration.getGender().toUpperCase()))
+                    .phoneNumber(registration.getPhoneNumber())
+                    .dateOfBirth(registration.getDateOfBirth())
+                    .address(registration.getAddress())
+                    .city(registration.getCity())
+                    .county(registration.getCounty())
+                    .country(registration.getCountry())
+                    .user(user)
+                    .allergies(registration.getAllergyIds() != null
+                            ? registration.getAllergyIds().stream()
+                                .distinct()
+                                .map(allergyId -> entityManager.getReference(Allergy.class, allergyId))
+                                .collect(Collectors.toList())
+                            : null)
+                    .build());
+        }
+
+        userRepository.saveAll(users);
+        patientRepository.saveAll(patients);
+
+        // The persistence context may outlive the chunk (open-in-view), so imported entities must not pile up in it.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The import file is empty.");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        return columns;
+    }
+
+    private PatientRegistrationDto parseCsv(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+
+        PatientRegistrationDto patient = new PatientRegistrationDto();
+        patient.setEmail(csvValue(values, columns, "email"));
+        patient.setPassword(csvValue(values, columns, "password"));
+        patient.setFirstName(csvValue(values, columns, "firstName"));
+        patient.setLastName(csvValue(values, columns, "lastName"));
+        patient.setPhoneNumber(csvValue(values, columns, "phoneNumber"));
+        patient.setGender(csvValue(values, columns, "gender"));
+        patient.setAddress(csvValue(values, columns, "address"));
+        patient.setCity(csvValue(values, columns, "city"));
+        patient.setCounty(csvValue(values, columns, "county"));
+        patient.setCountry(csvValue(values, columns, "country"));
+
+        String dateOfBirth = csvValue(values, columns, "dateOfBirth");
+        String allergyIds = csvValue(values, columns, "allergyIds");
+        try {
+            patient.setDateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null);
+            patient.setAllergyIds(allergyIds != null
+                    ? Arrays.stream(allergyIds.split(ALLERGY_ID_SEPARATOR)).map(String::trim).map(Long::valueOf).toList()
+                    : null);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid date of birth or allergy ids.");
+        }
+
+        return patient;
+    }
+
+    private PatientRegistrationDto parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, PatientRegistrationDto.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON row: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            return null;
+        }
+        return values.get(index).trim();
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+
+    private record ImportRow(long line, PatientRegistrationDto patient) {
+    }
+
+    private static final class ImportRun {
+
+        private final Set<Long> knownAllergyIds;
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<PatientImportErrorDto> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        private ImportRun(Set<Long> knownAllergyIds) {
+            this.knownAllergyIds = knownAllergyIds;
+        }
+
+        private void fail(long line, String email, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PatientImportErrorDto(line, email, message));
+            }
+        }
+    }
+}
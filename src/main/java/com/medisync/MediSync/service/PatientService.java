@@ -4,22 +4,25 @@ import com.medisync.MediSync.dto.PatientDto;
 import com.medisync.MediSync.dto.PatientRegistrationDto;
 import com.medisync.MediSync.dto.PatientUpdateDto;
 import com.medisync.MediSync.entity.Allergy;
-import com.medisync.MediSync.entity.Appointment;
 import com.medisync.MediSync.entity.Patient;
 import com.medisync.MediSync.entity.User;
-import com.medisync.MediSync.entity.enums.AppointmentStatus;
 import com.medisync.MediSync.entity.enums.Gender;
 import com.medisync.MediSync.entity.enums.Role;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.outbox.AppointmentEventOutbox;
 import com.medisync.MediSync.repository.AllergyRepository;
 import com.medisync.MediSync.repository.AppointmentRepository;
 import com.medisync.MediSync.repository.PatientRepository;
 import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.repository.projection.ScheduledAppointment;
+import com.medisync.MediSync.security.AuthenticatedUser;
+import com.medisync.MediSync.security.TokenRevocationRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -31,6 +34,9 @@ public class PatientService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final AppointmentEventOutbox appointmentEventOutbox;
 
     @Transactional
     public void registerPatient(PatientRegistrationDto patientRegistrationDto) {
@@ -77,16 +83,12 @@ public class PatientService {
     }
 
     @Transactional
-    public PatientDto updatePatient(Long patientId, PatientUpdateDto patientUpdateDto, String currentUserEmail) {
+    public PatientDto updatePatient(Long patientId, PatientUpdateDto patientUpdateDto, AuthenticatedUser currentUser) {
         Patient patient = patientRepository.findById(patientId).orElseThrow(
                 () -> new ResourceNotFoundException("Patient with id=" + patientId + " not found!")
         );
 
-        if (!userRepository.existsByEmail(currentUserEmail)){
-            throw new IllegalStateException("There is no account associated with this email: " + currentUserEmail);
-        }
-
-        if (!patient.getUser().getEmail().equals(currentUserEmail)) {
+        if (!currentUser.isPatient(patientId)) {
             throw new org.springframework.security.access.AccessDeniedException(
                     "You are not authorized to access perform this action."
             );
@@ -125,17 +127,18 @@ public class PatientService {
             throw new IllegalStateException("User is already not active for patient with id=" + patientId);
         }
 
-        List<Appointment> scheduledAppointments = appointmentRepository.
-                findAllByPatientIdAndStatus(patientId, AppointmentStatus.SCHEDULED);
+        List<ScheduledAppointment> cancelledAppointments =
+                appointmentRepository.cancelScheduledByPatientId(patientId, LocalDateTime.now());
 
-        for (Appointment appointment : scheduledAppointments) {
-            appointment.setStatus(AppointmentStatus.CANCELLED);
+        if (!cancelledAppointments.isEmpty()) {
+            cancelledAppointments.forEach(appointment ->
+                    slotAvailabilityIndex.markFreed(appointment.doctorId(), appointment.appointmentTime()));
+            appointmentEventOutbox.recordCancelled(cancelledAppointments);
         }
 
-        appointmentRepository.saveAll(scheduledAppointments);
-
         user.setIsActive(false);
         userRepository.save(user);
+        tokenRevocationRegistry.revokeTokensOf(user.getId());
     }
 
     public void activatePatient(Long patientId) {
@@ -0,0 +1,249 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.invalidation.InvalidationBus;
+import com.medisync.MediSync.util.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory occupancy of appointment slots per doctor and date, on top of a {@link SlotTemplate} per doctor and day of
+ * the week. Entries are loaded on first lookup and then kept up to date by bookings, cancellations and schedule
+ * changes once their transaction commits; templates are only dropped when the schedule or the doctor changes. Other nodes are told
+ * to drop the affected entries through the {@link InvalidationBus}. Registered {@link Listener}s are told about
+ * every change applied to the index.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    public static final String INVALIDATION_REGION = "slots";
+
+    private static final int MAX_ENTRIES = 50_000;
+    private static final String DATE_SEPARATOR = "/";
+
+    private final ConcurrentMap<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TemplateKey, SlotTemplate> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> doctorVersions = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Notified after a change has been committed, on the thread that applied it.
+     */
+    public interface Listener {
+
+        void slotChanged(Long doctorId, LocalDateTime appointmentTime, boolean taken);
+
+        /**
+         * The slots of a doctor changed in a way this node cannot describe as single slots (a schedule change or a
+         * change made on another node). {@code date} is null when every date is affected, {@code doctorId} is null
+         * when every doctor is.
+         */
+        void slotsInvalidated(Long doctorId, LocalDate date);
+    }
+
+    public SlotAvailabilityIndex(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(INVALIDATION_REGION, this::onRemoteInvalidation);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public DayOccupancy get(Long doctorId, LocalDate date, Supplier<DayOccupancy> loader) {
+        DayKey key = new DayKey(doctorId, date);
+
+        DayOccupancy cached = days.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (days.size() >= MAX_ENTRIES) {
+            purgeBefore(LocalDate.now());
+        }
+
+        return load(days, key, doctorId, loader);
+    }
+
+    public SlotTemplate template(Long doctorId, DayOfWeek dayOfWeek, Supplier<SlotTemplate> loader) {
+        TemplateKey key = new TemplateKey(doctorId, dayOfWeek);
+
+        SlotTemplate cached = templates.get(key);
+        return cached != null ? cached : load(templates, key, doctorId, loader);
+    }
+
+    public void markBooked(Long doctorId, LocalDateTime appointmentTime) {
+        AfterCommit.run(() -> update(doctorId, appointmentTime, true));
+    }
+
+    public void markFreed(Long doctorId, LocalDateTime appointmentTime) {
+        AfterCommit.run(() -> update(doctorId, appointmentTime, false));
+    }
+
+    public void evictDoctor(Long doctorId) {
+        AfterCommit.run(() -> {
+            removeDoctor(doctorId);
+            invalidationBus.publish(INVALIDATION_REGION, doctorId.toString());
+        });
+    }
+
+    private void update(Long doctorId, LocalDateTime appointmentTime, boolean occupied) {
+        version(doctorId).incrementAndGet();
+        days.computeIfPresent(new DayKey(doctorId, appointmentTime.toLocalDate()), (key, day) -> {
+            day.mark(appointmentTime.toLocalTime(), occupied);
+            return day;
+        });
+        invalidationBus.publish(INVALIDATION_REGION, doctorId + DATE_SEPARATOR + appointmentTime.toLocalDate());
+        listeners.forEach(listener -> listener.slotChanged(doctorId, appointmentTime, occupied));
+    }
+
+    private <K, V> V load(ConcurrentMap<K, V> entries, K key, Long doctorId, Supplier<V> loader) {
+        long version = version(doctorId).get();
+        V loaded = loader.get();
+
+        V installed = entries.compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return version(doctorId).get() == version ? loaded : null;
+        });
+
+        return installed != null ? installed : loaded;
+    }
+
+    private void removeDoctor(Long doctorId) {
+        version(doctorId).incrementAndGet();
+        days.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+        templates.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+        listeners.forEach(listener -> listener.slotsInvalidated(doctorId, null));
+    }
+
+    private void onRemoteInvalidation(String key) {
+        if (key == null) {
+            doctorVersions.values().forEach(AtomicLong::incrementAndGet);
+            days.clear();
+            templates.clear();
+            listeners.forEach(listener -> listener.slotsInvalidated(null, null));
+            return;
+        }
+
+        String[] parts = key.split(DATE_SEPARATOR, 2);
+        Long doctorId = Long.valueOf(parts[0]);
+        if (parts.length == 1) {
+            removeDoctor(doctorId);
+            return;
+        }
+
+        LocalDate date = LocalDate.parse(parts[1]);
+        version(doctorId).incrementAndGet();
+        days.remove(new DayKey(doctorId, date));
+        listeners.forEach(listener -> listener.slotsInvalidated(doctorId, date));
+    }
+
+    private void purgeBefore(LocalDate date) {
+        days.keySet().removeIf(key -> key.date().isBefore(date));
+        if (days.size() >= MAX_ENTRIES) {
+            days.clear();
+        }
+    }
+
+    private AtomicLong version(Long doctorId) {
+        return doctorVersions.computeIfAbsent(doctorId, id -> new AtomicLong());
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    private record TemplateKey(Long doctorId, DayOfWeek dayOfWeek) {
+    }
+
+    public static final class DayOccupancy {
+
+        private final SlotTemplate template;
+        private final long[] occupied;
+
+        private DayOccupancy(SlotTemplate template) {
+            this.template = template;
+            this.occupied = new long[SlotTemplate.words(template.slotCount())];
+        }
+
+        public static DayOccupancy of(SlotTemplate template, Collection<LocalDateTime> bookedTimes) {
+            DayOccupancy day = new DayOccupancy(template);
+            bookedTimes.forEach(time -> day.mark(time.toLocalTime(), true));
+            return day;
+        }
+
+        public static DayOccupancy of(LocalTime startTime, LocalTime endTime, int durationMinutes,
+                                      Collection<LocalDateTime> bookedTimes) {
+            return of(SlotTemplate.of(startTime, endTime, durationMinutes), bookedTimes);
+        }
+
+        public static DayOccupancy notWorking() {
+            return new DayOccupancy(SlotTemplate.NOT_WORKING);
+        }
+
+        public boolean isWorking() {
+            return template.isWorking();
+        }
+
+        public List<LocalTime> availableSlots(LocalTime notBefore) {
+            return availableSlots(notBefore, Integer.MAX_VALUE);
+        }
+
+        /**
+         * The first {@code limit} free slots starting at or after {@code notBefore} (from the start of the day when
+         * it is null).
+         */
+        public synchronized List<LocalTime> availableSlots(LocalTime notBefore, int limit) {
+            List<LocalTime> availableSlots = new ArrayList<>();
+            int from = notBefore != null ? template.firstSlotNotBefore(notBefore) : 0;
+
+            for (int slot = nextFree(from); slot >= 0 && availableSlots.size() < limit; slot = nextFree(slot + 1)) {
+                availableSlots.add(template.timeOf(slot));
+            }
+
+            return availableSlots;
+        }
+
+        synchronized void mark(LocalTime time, boolean taken) {
+            int slot = template.indexOf(time);
+            if (slot < 0) {
+                return;
+            }
+
+            if (taken) {
+                occupied[slot >>> 6] |= 1L << slot;
+            } else {
+                occupied[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+
+        private int nextFree(int from) {
+            int word = from >>> 6;
+            if (word >= occupied.length) {
+                return -1;
+            }
+
+            long free = template.word(word) & ~occupied[word] & (-1L << from);
+            while (free == 0) {
+                if (++word == occupied.length) {
+                    return -1;
+                }
+                free = template.word(word) & ~occupied[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(free);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the free slots of a doctor on a date to subscribed clients as server-sent events: a {@code snapshot} of the
+ * available times on subscribe, then {@code taken} and {@code freed} events as bookings and cancellations commit.
+ * Changes that cannot be described slot by slot (schedule changes, changes made on another node) are followed by a
+ * fresh {@code snapshot}. The stream ends when the doctor stops working on that date, or after {@link #TIMEOUT};
+ * clients are expected to reconnect.
+ * <p>
+ * Every client has its own bounded queue, drained by its own virtual thread, so a stalled connection only delays
+ * itself; a client that falls {@link #MAX_PENDING_EVENTS} events behind is disconnected. Snapshots are computed on a
+ * small separate pool, and requests for the same doctor and date that arrive while one is pending are merged.
+ */
+@Slf4j
+@Service
+public class SlotAvailabilityStream implements SlotAvailabilityIndex.Listener {
+
+    public static final Duration TIMEOUT = Duration.ofMinutes(30);
+    public static final int MAX_SUBSCRIBERS = 10_000;
+    public static final int MAX_PENDING_EVENTS = 64;
+
+    private static final int SNAPSHOT_THREADS = 2;
+
+    private static final String SUBSCRIBERS_GAUGE = "medisync.slots.stream.subscribers";
+    private static final String DROPPED_COUNTER = "medisync.slots.stream.dropped";
+
+    private final AppointmentService appointmentService;
+    private final ConcurrentMap<DayKey, Day> days = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    // Days waiting for a snapshot, and those of them whose current subscribers all need it (not only new ones).
+    private final Set<DayKey> pendingSnapshots = ConcurrentHashMap.newKeySet();
+    private final Set<DayKey> staleDays = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService snapshotExecutor = Executors.newFixedThreadPool(
+            SNAPSHOT_THREADS, Thread.ofPlatform().name("slot-stream-snapshot-", 0).daemon().factory());
+    private final ExecutorService sendExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("slot-stream-send-", 0).factory());
+
+    public SlotAvailabilityStream(AppointmentService appointmentService, SlotAvailabilityIndex slotAvailabilityIndex,
+                                  MeterRegistry meterRegistry) {
+        this.appointmentService = appointmentService;
+        slotAvailabilityIndex.addListener(this);
+        meterRegistry.gauge(SUBSCRIBERS_GAUGE, subscriberCount);
+        this.droppedSubscribers = Counter.builder(DROPPED_COUNTER)
+                .description("Slot stream clients disconnected for falling too far behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long doctorId, LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot follow the slots of a past date.");
+        }
+        appointmentService.getAvailableSlots(doctorId, date);
+
+        if (subscriberCount.incrementAndGet() > MAX_SUBSCRIBERS) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open slot streams, please retry shortly.");
+        }
+
+        DayKey key = new DayKey(doctorId, date);
+        Subscriber subscriber = new Subscriber(key, new SseEmitter(TIMEOUT.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // The snapshot is taken after registering, so no change can fall between the two. A change that is already
+        // in the snapshot may be announced again, which is harmless as events carry the new state.
+        days.compute(key, (k, day) -> {
+            Day registered = day != null ? day : new Day();
+            registered.subscribers.add(subscriber);
+            return registered;
+        });
+        requestSnapshot(key, false);
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void slotChanged(Long doctorId, LocalDateTime appointmentTime, boolean taken) {
+        DayKey key = new DayKey(doctorId, appointmentTime.toLocalDate());
+        Day day = days.get(key);
+        if (day == null) {
+            return;
+        }
+
+        day.changes.incrementAndGet();
+        Event event = new Event(taken ? "taken" : "freed", appointmentTime.toLocalTime());
+        day.subscribers.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    @Override
+    public void slotsInvalidated(Long doctorId, LocalDate date) {
+        days.keySet().stream()
+                .filter(key -> doctorId == null || key.doctorId().equals(doctorId))
+                .filter(key -> date == null || key.date().equals(date))
+                .forEach(key -> requestSnapshot(key, true));
+    }
+
+    /**
+     * Keeps idle connections open through proxies, drops clients that went away and ends streams of past dates.
+     */
+    @Scheduled(fixedDelayString = "PT25S")
+    public void heartbeat() {
+        days.forEach((key, day) -> {
+            if (key.date().isBefore(LocalDate.now())) {
+                day.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+                return;
+            }
+            day.subscribers.forEach(subscriber -> subscriber.enqueue(Event.HEARTBEAT));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        days.values().forEach(day -> day.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Schedules a snapshot of {@code key} unless one is already waiting. New subscribers always receive it; the others
+     * only when {@code stale} is set by one of the merged requests.
+     */
+    private void requestSnapshot(DayKey key, boolean stale) {
+        if (stale) {
+            staleDays.add(key);
+        }
+        if (!pendingSnapshots.add(key)) {
+            return;
+        }
+
+        try {
+            snapshotExecutor.execute(() -> snapshot(key));
+        } catch (RejectedExecutionException e) {
+            pendingSnapshots.remove(key);
+        }
+    }
+
+    private void snapshot(DayKey key) {
+        pendingSnapshots.remove(key);
+        boolean stale = staleDays.remove(key);
+
+        Day day = days.get(key);
+        if (day == null) {
+            return;
+        }
+
+        long changes = day.changes.get();
+        List<LocalTime> slots;
+        try {
+            slots = appointmentService.getAvailableSlots(key.doctorId(), key.date());
+        } catch (RuntimeException e) {
+            log.debug("Closing slot streams of doctor {} on {}: {}", key.doctorId(), key.date(), e.getMessage());
+            day.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            return;
+        }
+
+        Event event = new Event("snapshot", slots);
+        day.subscribers.forEach(subscriber -> {
+            if (stale || !subscriber.hasSnapshot) {
+                subscriber.hasSnapshot = true;
+                subscriber.enqueue(event);
+            }
+        });
+
+        // A change queued while the slots were read may now sit before an older snapshot; send a newer one after it.
+        if (day.changes.get() != changes) {
+            requestSnapshot(key, true);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        days.computeIfPresent(subscriber.key, (k, day) -> {
+            if (day.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return day.subscribers.isEmpty() ? null : day;
+        });
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    // Builders accumulate their output, so each client gets its own one from this.
+    private record Event(String name, Object data) {
+
+        private static final Event HEARTBEAT = new Event(null, null);
+
+        private SseEmitter.SseEventBuilder toBuilder() {
+            return name == null ? SseEmitter.event().comment("") : SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    private static final class Day {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicLong changes = new AtomicLong();
+    }
+
+    private final class Subscriber {
+        private final DayKey key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> events = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean hasSnapshot;
+
+        private Subscriber(DayKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Event event) {
+            if (!events.offer(event)) {
+                log.debug("Disconnecting a slow slot stream client of doctor {} on {}", key.doctorId(), key.date());
+                droppedSubscribers.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            drain();
+        }
+
+        // At most one sender per client, so its events go out in the order they were queued.
+        private void drain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                sendExecutor.execute(() -> {
+                    Event event;
+                    while ((event = events.poll()) != null) {
+                        if (!send(event)) {
+                            events.clear();
+                            break;
+                        }
+                    }
+                    draining.set(false);
+                    if (!events.isEmpty()) {
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private boolean send(Event event) {
+            try {
+                emitter.send(event.toBuilder());
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
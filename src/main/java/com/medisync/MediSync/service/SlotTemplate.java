@@ -0,0 +1,81 @@
+package com.medisync.MediSync.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Slot grid of a doctor on one day of the week: the start of every slot in minutes from midnight, and a bitmap with
+ * one bit per slot. A template only depends on the working hours and the appointment duration, so it is built once
+ * and shared by every date falling on that day of the week.
+ */
+public final class SlotTemplate {
+
+    public static final SlotTemplate NOT_WORKING = new SlotTemplate(false, new int[0]);
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final boolean working;
+    private final int[] offsets;
+    private final long[] slots;
+
+    private SlotTemplate(boolean working, int[] offsets) {
+        this.working = working;
+        this.offsets = offsets;
+        this.slots = new long[words(offsets.length)];
+        for (int slot = 0; slot < offsets.length; slot++) {
+            slots[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    public static SlotTemplate of(LocalTime startTime, LocalTime endTime, int durationMinutes) {
+        int start = startTime.toSecondOfDay() / 60;
+        int slotCount = (int) Math.max(Duration.between(startTime, endTime).toMinutes() / durationMinutes, 0);
+
+        int[] offsets = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            offsets[slot] = start + slot * durationMinutes;
+        }
+        return new SlotTemplate(true, offsets);
+    }
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    public boolean isWorking() {
+        return working;
+    }
+
+    public int slotCount() {
+        return offsets.length;
+    }
+
+    public LocalTime timeOf(int slot) {
+        return LocalTime.ofSecondOfDay(offsets[slot] * 60L);
+    }
+
+    /**
+     * Index of the slot starting at {@code time}, or -1 when no slot starts then.
+     */
+    public int indexOf(LocalTime time) {
+        if (time.toNanoOfDay() % NANOS_PER_MINUTE != 0) {
+            return -1;
+        }
+        int slot = Arrays.binarySearch(offsets, time.toSecondOfDay() / 60);
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * Index of the first slot starting at or after {@code time}; {@link #slotCount()} when there is none.
+     */
+    public int firstSlotNotBefore(LocalTime time) {
+        int minute = (int) ((time.toNanoOfDay() + NANOS_PER_MINUTE - 1) / NANOS_PER_MINUTE);
+        int slot = Arrays.binarySearch(offsets, minute);
+        return slot >= 0 ? slot : -slot - 1;
+    }
+
+    long word(int index) {
+        return slots[index];
+    }
+}
@@ -5,6 +5,7 @@ import com.medisync.MediSync.dto.UserDto;
 import com.medisync.MediSync.entity.User;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
 import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.security.TokenRevocationRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +17,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     public UserDto getUser(Long userId){
         return UserDto.mapToDto(userRepository.findById(userId)
@@ -32,5 +34,6 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(changePasswordDto.getNewPassword()));
         userRepository.save(user);
+        tokenRevocationRegistry.revokeTokensOf(userId);
     }
 }
@@ -0,0 +1,108 @@
+-- Schema as Hibernate generated it before migrations were introduced (identity ids). Databases created that way are
+-- baselined at this version instead of running it.
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    is_active  BOOLEAN      NOT NULL,
+    role       VARCHAR(255) CHECK (role IN ('ADMIN', 'DOCTOR', 'PATIENT')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE departments (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL UNIQUE,
+    description    VARCHAR(255),
+    head_doctor_id BIGINT UNIQUE,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE doctors (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name           VARCHAR(255) NOT NULL,
+    last_name            VARCHAR(255) NOT NULL,
+    specialization       VARCHAR(255) NOT NULL CHECK (specialization IN (
+                             'GENERAL_PRACTICE', 'CARDIOLOGY', 'PEDIATRICS', 'ORTHOPEDICS', 'DERMATOLOGY', 'NEUROLOGY',
+                             'GYNECOLOGY', 'PSYCHIATRY', 'ONCOLOGY', 'RADIOLOGY', 'OPHTHALMOLOGY', 'DENTISTRY',
+                             'SURGERY', 'UROLOGY', 'ENT')),
+    appointment_duration VARCHAR(255) NOT NULL CHECK (appointment_duration IN (
+                             'MINUTES_15', 'MINUTES_30', 'MINUTES_45', 'MINUTES_60')),
+    user_id              BIGINT       NOT NULL UNIQUE REFERENCES users (id),
+    department_id        BIGINT       NOT NULL REFERENCES departments (id),
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6)
+);
+
+ALTER TABLE departments
+    ADD CONSTRAINT fk_departments_head_doctor FOREIGN KEY (head_doctor_id) REFERENCES doctors (id);
+
+CREATE TABLE doctor_schedules (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id   BIGINT       NOT NULL REFERENCES doctors (id),
+    day_of_week VARCHAR(255) NOT NULL CHECK (day_of_week IN (
+                    'MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time  TIME(0)      NOT NULL,
+    end_time    TIME(0)      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_doctor_schedules_doctor_day UNIQUE (doctor_id, day_of_week)
+);
+
+CREATE TABLE allergies (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL UNIQUE,
+    code       VARCHAR(255) NOT NULL UNIQUE,
+    category   VARCHAR(255) NOT NULL CHECK (category IN (
+                   'MEDICATION', 'FOOD', 'ENVIRONMENTAL', 'ANIMAL', 'INSECT', 'OTHER')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE patients (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    date_of_birth DATE         NOT NULL,
+    gender        VARCHAR(255) NOT NULL CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    phone_number  VARCHAR(255) NOT NULL,
+    address       VARCHAR(255),
+    city          VARCHAR(255),
+    county        VARCHAR(255),
+    country       VARCHAR(255),
+    user_id       BIGINT       NOT NULL UNIQUE REFERENCES users (id),
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE patients_allergies (
+    patient_id   BIGINT NOT NULL REFERENCES patients (id),
+    allergies_id BIGINT NOT NULL REFERENCES allergies (id)
+);
+
+CREATE TABLE appointments (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id        BIGINT       NOT NULL REFERENCES doctors (id),
+    patient_id       BIGINT       NOT NULL REFERENCES patients (id),
+    appointment_time TIMESTAMP(6) NOT NULL,
+    active_slot_time TIMESTAMP(6),
+    reason           VARCHAR(255) NOT NULL,
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('SCHEDULED', 'COMPLETED', 'CANCELLED', 'NO_SHOW')),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT uk_appointments_doctor_active_slot UNIQUE (doctor_id, active_slot_time)
+);
+
+CREATE INDEX idx_appointments_doctor_time ON appointments (doctor_id, appointment_time, id);
+CREATE INDEX idx_appointments_patient_time ON appointments (patient_id, appointment_time, id);
+
+CREATE TABLE medical_records (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    appointment_id BIGINT        NOT NULL UNIQUE REFERENCES appointments (id),
+    diagnosis      VARCHAR(1000) NOT NULL,
+    treatment_plan TEXT,
+    prescription   TEXT,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
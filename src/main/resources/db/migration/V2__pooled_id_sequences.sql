@@ -0,0 +1,17 @@
+-- Moves every table from identity columns to sequences that hand out ids in blocks of 50 (Hibernate's pooled
+-- optimizer, matching allocationSize on the entities). Existing ids are kept; each sequence is positioned so that
+-- its first block starts right after the current maximum id.
+DO $$
+DECLARE
+    table_name TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY[
+        'users', 'departments', 'doctors', 'doctor_schedules', 'patients', 'allergies', 'appointments', 'medical_records'
+    ]
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', table_name || '_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)',
+                       table_name || '_seq', table_name);
+    END LOOP;
+END $$;
@@ -0,0 +1,5 @@
+-- Scheduled-appointment lookups when a patient is deactivated, and the "my appointments" filter by status.
+CREATE INDEX idx_appointments_patient_status ON appointments (patient_id, status);
+
+-- Removing an allergy deletes its join rows by allergies_id; the table otherwise has no index on that column.
+CREATE INDEX idx_patients_allergies_allergy ON patients_allergies (allergies_id);
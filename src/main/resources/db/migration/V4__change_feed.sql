@@ -0,0 +1,22 @@
+-- updated_at is now written on insert as well, so it always holds the last change and can drive the change feed.
+DO $$
+DECLARE
+    table_name TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY[
+        'users', 'departments', 'doctors', 'doctor_schedules', 'patients', 'allergies', 'appointments', 'medical_records'
+    ]
+    LOOP
+        EXECUTE format('UPDATE %I SET updated_at = created_at WHERE updated_at IS NULL', table_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN updated_at SET NOT NULL', table_name);
+    END LOOP;
+END $$;
+
+-- Keyset order of GET /api/changes/{entity}: (updated_at, id)
+CREATE INDEX idx_departments_updated_at ON departments (updated_at, id);
+CREATE INDEX idx_doctors_updated_at ON doctors (updated_at, id);
+CREATE INDEX idx_doctor_schedules_updated_at ON doctor_schedules (updated_at, id);
+CREATE INDEX idx_patients_updated_at ON patients (updated_at, id);
+CREATE INDEX idx_allergies_updated_at ON allergies (updated_at, id);
+CREATE INDEX idx_appointments_updated_at ON appointments (updated_at, id);
+CREATE INDEX idx_medical_records_updated_at ON medical_records (updated_at, id);
@@ -0,0 +1,16 @@
+-- Appointment lifecycle events written in the same transaction as the change and delivered later by the outbox relay.
+CREATE SEQUENCE outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id             BIGINT       PRIMARY KEY,
+    event_type     VARCHAR(255) NOT NULL CHECK (event_type IN ('BOOKED', 'CANCELLED', 'COMPLETED', 'NO_SHOW')),
+    appointment_id BIGINT       NOT NULL,
+    payload        TEXT         NOT NULL,
+    published_at   TIMESTAMP(6),
+    attempts       INTEGER      NOT NULL,
+    last_error     VARCHAR(1000),
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_outbox_events_pending ON outbox_events (published_at, id);
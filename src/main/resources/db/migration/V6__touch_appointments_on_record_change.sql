@@ -0,0 +1,6 @@
+-- Medical record changes now touch their appointment, so the export can resume on appointments (updated_at, id).
+UPDATE appointments a
+SET updated_at = m.updated_at
+FROM medical_records m
+WHERE m.appointment_id = a.id
+AND m.updated_at > a.updated_at;
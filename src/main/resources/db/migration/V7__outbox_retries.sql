@@ -0,0 +1,6 @@
+-- Failed outbox deliveries are retried with exponential backoff and parked after too many attempts.
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP(6);
+ALTER TABLE outbox_events ADD COLUMN parked_at TIMESTAMP(6);
+
+-- Holds back the later events of an appointment while an earlier one is waiting for a retry or parked.
+CREATE INDEX idx_outbox_events_appointment ON outbox_events (appointment_id, id);
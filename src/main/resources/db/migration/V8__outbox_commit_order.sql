@@ -0,0 +1,4 @@
+-- Outbox ids are taken from the sequence one insert at a time instead of in blocks of 50 per node. An event that
+-- follows another of the same appointment is written by a transaction that already sees it committed, so it always
+-- gets the higher id, whichever node writes it.
+ALTER SEQUENCE outbox_events_seq INCREMENT BY 1;
@@ -0,0 +1,59 @@
+package com.medisync.MediSync;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on a real PostgreSQL and starts the application with {@code ddl-auto=validate}, so the
+ * context only comes up when the migrated schema matches the entity mappings.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+class SchemaMigrationIT {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired private Flyway flyway;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrate_AppliesEveryScriptAndMatchesEntities() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(applied).isNotEmpty();
+        assertThat(Arrays.stream(applied).map(info -> info.getVersion().getVersion()))
+                .startsWith("1")
+                .doesNotHaveDuplicates();
+        assertThat(flyway.info().current().getVersion())
+                .isEqualTo(Arrays.stream(flyway.info().all()).reduce((first, last) -> last).orElseThrow().getVersion());
+    }
+}
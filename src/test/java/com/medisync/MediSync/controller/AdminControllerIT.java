@@ -0,0 +1,78 @@
+package com.medisync.MediSync.controller;
+
+import com.medisync.MediSync.entity.User;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.repository.UserRepository;
+import com.medisync.MediSync.security.AuthenticatedUser;
+import com.medisync.MediSync.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: tokens are revoked when the deleting transaction commits.
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+
+    private User admin;
+    private User otherAdmin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(admin("admin@test.com"));
+        otherAdmin = userRepository.save(admin("other-admin@test.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(admin.getId(), otherAdmin.getId()));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/admins/{id} - The deleted admin's token is rejected afterwards")
+    void deleteAdmin_RevokesTokensOfDeletedAdmin() throws Exception {
+        String deletedAdminToken = token(otherAdmin);
+
+        mockMvc.perform(get("/api/admins").header("Authorization", "Bearer " + deletedAdminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/admins/{adminId}", otherAdmin.getId())
+                        .header("Authorization", "Bearer " + token(admin)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admins").header("Authorization", "Bearer " + deletedAdminToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String token(User user) {
+        return jwtService.generateToken(AuthenticatedUser.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build());
+    }
+
+    private static User admin(String email) {
+        return User.builder()
+                .email(email)
+                .password("pass")
+                .role(Role.ADMIN)
+                .isActive(true)
+                .build();
+    }
+}
@@ -3,10 +3,12 @@ package com.medisync.MediSync.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.medisync.MediSync.dto.AppointmentBookDto;
+import com.medisync.MediSync.dto.AppointmentSeriesBookDto;
 import com.medisync.MediSync.dto.MedicalRecordCreateDto;
 import com.medisync.MediSync.entity.*;
 import com.medisync.MediSync.entity.enums.*;
 import com.medisync.MediSync.repository.*;
+import com.medisync.MediSync.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +16,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
@@ -23,7 +28,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -45,6 +50,8 @@ class AppointmentControllerIT {
 
     private Long doctorId;
     private Long patientId;
+    private Long doctorUserId;
+    private Long patientUserId;
     private Long scheduledAppointmentId;
 
     @BeforeEach
@@ -71,6 +78,7 @@ class AppointmentControllerIT {
                 .appointmentDuration(AppointmentDuration.MINUTES_30)
                 .build());
         doctorId = doctor.getId();
+        doctorUserId = docUser.getId();
 
         User patUser = userRepository.save(User.builder()
                 .email("pat@test.com")
@@ -89,6 +97,7 @@ class AppointmentControllerIT {
                 .build());
 
         patientId = patient.getId();
+        patientUserId = patUser.getId();
 
         scheduleRepository.save(DoctorSchedule.builder()
                 .doctor(doctor)
@@ -111,7 +120,7 @@ class AppointmentControllerIT {
     @DisplayName("GET /api/appointments/{id} - Success")
     void getAppointmentById_Success() throws Exception {
         mockMvc.perform(get("/api/appointments/{id}", scheduledAppointmentId)
-                        .with(user("doc@test.com").roles("DOCTOR")))
+                        .with(asDoctor()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(scheduledAppointmentId))
                 .andExpect(jsonPath("$.status").value("SCHEDULED"));
@@ -121,7 +130,7 @@ class AppointmentControllerIT {
     @DisplayName("GET /api/appointments/{id} - Not Found")
     void getAppointmentById_NotFound() throws Exception {
         mockMvc.perform(get("/api/appointments/{id}", 9999L)
-                        .with(user("doc@test.com").roles("DOCTOR")))
+                        .with(asDoctor()))
                 .andExpect(status().isNotFound());
     }
 
@@ -138,7 +147,7 @@ class AppointmentControllerIT {
         dto.setReason("Chest Pain");
 
         mockMvc.perform(post("/api/appointments")
-                        .with(user("pat@test.com").roles("PATIENT"))
+                        .with(asPatient())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isCreated())
@@ -147,13 +156,70 @@ class AppointmentControllerIT {
                 .andExpect(jsonPath("$.reason").value("Chest Pain"));
     }
 
+    @Test
+    @DisplayName("POST /api/appointments - Conflict (Slot already booked)")
+    void bookAppointment_SlotAlreadyBooked() throws Exception {
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDateTime time = LocalDateTime.of(nextMonday, LocalTime.of(10, 0));
+
+        appointmentRepository.saveAndFlush(Appointment.builder()
+                .doctor(doctorRepository.getReferenceById(doctorId))
+                .patient(patientRepository.getReferenceById(patientId))
+                .status(AppointmentStatus.SCHEDULED)
+                .appointmentTime(time)
+                .reason("Existing booking")
+                .build());
+
+        AppointmentBookDto dto = new AppointmentBookDto();
+        dto.setDoctorId(doctorId);
+        dto.setPatientId(patientId);
+        dto.setAppointmentTime(time);
+        dto.setReason("Chest Pain");
+
+        mockMvc.perform(post("/api/appointments")
+                        .with(asPatient())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/appointments - Success (Slot of a cancelled appointment)")
+    void bookAppointment_SlotOfCancelledAppointment() throws Exception {
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDateTime time = LocalDateTime.of(nextMonday, LocalTime.of(10, 0));
+
+        Appointment existing = appointmentRepository.saveAndFlush(Appointment.builder()
+                .doctor(doctorRepository.getReferenceById(doctorId))
+                .patient(patientRepository.getReferenceById(patientId))
+                .status(AppointmentStatus.SCHEDULED)
+                .appointmentTime(time)
+                .reason("Existing booking")
+                .build());
+        existing.setStatus(AppointmentStatus.CANCELLED);
+        appointmentRepository.saveAndFlush(existing);
+
+        AppointmentBookDto dto = new AppointmentBookDto();
+        dto.setDoctorId(doctorId);
+        dto.setPatientId(patientId);
+        dto.setAppointmentTime(time);
+        dto.setReason("Chest Pain");
+
+        mockMvc.perform(post("/api/appointments")
+                        .with(asPatient())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("SCHEDULED"));
+    }
+
     @Test
     @DisplayName("POST /api/appointments - Fail Validation (Empty Body)")
     void bookAppointment_ValidationFail() throws Exception {
         AppointmentBookDto dto = new AppointmentBookDto();
 
         mockMvc.perform(post("/api/appointments")
-                        .with(user("pat@test.com").roles("PATIENT"))
+                        .with(asPatient())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isBadRequest());
@@ -172,12 +238,33 @@ class AppointmentControllerIT {
         dto.setReason("Test");
 
         mockMvc.perform(post("/api/appointments")
-                        .with(user("pat@test.com").roles("PATIENT"))
+                        .with(asPatient())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/appointments/series - Success")
+    void bookAppointmentSeries_Success() throws Exception {
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        AppointmentSeriesBookDto dto = new AppointmentSeriesBookDto();
+        dto.setDoctorId(doctorId);
+        dto.setPatientId(patientId);
+        dto.setFirstAppointmentTime(LocalDateTime.of(nextMonday, LocalTime.of(10, 0)));
+        dto.setOccurrences(3);
+        dto.setReason("Physiotherapy");
+
+        mockMvc.perform(post("/api/appointments/series")
+                        .with(asPatient())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].appointmentTime").value(nextMonday.plusWeeks(2) + "T10:00:00"));
+    }
+
     @Test
     @DisplayName("POST /complete - Success")
     void completeAppointment_Success() throws Exception {
@@ -186,7 +273,7 @@ class AppointmentControllerIT {
         );
 
         mockMvc.perform(post("/api/appointments/{id}/complete", scheduledAppointmentId)
-                        .with(user("doc@test.com").roles("DOCTOR"))
+                        .with(asDoctor())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(recordDto)))
                 .andExpect(status().isOk())
@@ -197,7 +284,7 @@ class AppointmentControllerIT {
     @DisplayName("PUT /cancel - Success")
     void cancelAppointment_Success() throws Exception {
         mockMvc.perform(put("/api/appointments/{id}/cancel", scheduledAppointmentId)
-                        .with(user("pat@test.com").roles("PATIENT")))
+                        .with(asPatient()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
     }
@@ -206,8 +293,133 @@ class AppointmentControllerIT {
     @DisplayName("PUT /no-show - Success")
     void markNoShow_Success() throws Exception {
         mockMvc.perform(put("/api/appointments/{id}/no-show", scheduledAppointmentId)
-                        .with(user("doc@test.com").roles("DOCTOR")))
+                        .with(asDoctor()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("NO_SHOW"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /export - Admin streams NDJSON")
+    void exportAppointments_AsAdmin_Streams() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/appointments/export")
+                        .param("from", LocalDate.now().minusDays(1).toString())
+                        .with(asAdmin()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"appointments.ndjson\""));
+    }
+
+    @Test
+    @DisplayName("GET /export - Forbidden for patients")
+    void exportAppointments_AsPatient_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/appointments/export")
+                        .with(asPatient()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /export - Unknown format")
+    void exportAppointments_UnknownFormat_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/appointments/export")
+                        .param("format", "xml")
+                        .with(asAdmin()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/changes/appointments - Holds back changes younger than the settle time")
+    void getAppointmentChanges_RecentChangesNotYetVisible() throws Exception {
+        mockMvc.perform(get("/api/changes/{feed}", "appointments")
+                        .with(asAdmin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/changes/{feed} - Unknown feed")
+    void getChanges_UnknownFeed_NotFound() throws Exception {
+        mockMvc.perform(get("/api/changes/{feed}", "users")
+                        .with(asAdmin()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /slots/stream - Opens an event stream")
+    void streamAvailableSlots_Success() throws Exception {
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        mockMvc.perform(get("/api/doctors/{doctorId}/appointments/slots/stream", doctorId)
+                        .param("date", nextMonday.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(asPatient()))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    @Test
+    @DisplayName("GET /slots/stream - Past date")
+    void streamAvailableSlots_PastDate_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/doctors/{doctorId}/appointments/slots/stream", doctorId)
+                        .param("date", LocalDate.now().minusDays(1).toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(asPatient()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /slots/stream - Doctor not working that day")
+    void streamAvailableSlots_NotWorkingDay_NotFound() throws Exception {
+        LocalDate nextTuesday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.TUESDAY));
+
+        mockMvc.perform(get("/api/doctors/{doctorId}/appointments/slots/stream", doctorId)
+                        .param("date", nextTuesday.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(asPatient()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Not public")
+    void prometheus_WithoutAdmin_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(asPatient()))
+                .andExpect(status().isForbidden());
+    }
+
+    private RequestPostProcessor asAdmin() {
+        return authenticatedAs(AuthenticatedUser.builder()
+                .userId(0L)
+                .email("admin@test.com")
+                .role(Role.ADMIN)
+                .build());
+    }
+
+    private RequestPostProcessor asDoctor() {
+        return authenticatedAs(AuthenticatedUser.builder()
+                .userId(doctorUserId)
+                .email("doc@test.com")
+                .role(Role.DOCTOR)
+                .doctorId(doctorId)
+                .build());
+    }
+
+    private RequestPostProcessor asPatient() {
+        return authenticatedAs(AuthenticatedUser.builder()
+                .userId(patientUserId)
+                .email("pat@test.com")
+                .role(Role.PATIENT)
+                .patientId(patientId)
+                .build());
+    }
+
+    private static RequestPostProcessor authenticatedAs(AuthenticatedUser user) {
+        return authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
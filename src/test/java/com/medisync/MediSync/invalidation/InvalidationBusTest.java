@@ -0,0 +1,95 @@
+package com.medisync.MediSync.invalidation;
+
+import com.medisync.MediSync.service.SlotAvailabilityIndex;
+import com.medisync.MediSync.service.SlotAvailabilityIndex.DayOccupancy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBusTest {
+
+    private LocalInvalidationBus nodeA;
+    private LocalInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new LocalInvalidationBus();
+        nodeB = new LocalInvalidationBus(nodeA);
+    }
+
+    @Test
+    void cacheEviction_OnOneNode_ClearsCacheOnOtherNodes() {
+        CacheManager cachesA = new BroadcastingCacheManager(new ConcurrentMapCacheManager("departments"), nodeA);
+        CacheManager cachesB = new BroadcastingCacheManager(new ConcurrentMapCacheManager("departments"), nodeB);
+        Cache departmentsA = cachesA.getCache("departments");
+        Cache departmentsB = cachesB.getCache("departments");
+        departmentsA.put("all", List.of("Cardiology"));
+        departmentsB.put("all", List.of("Cardiology"));
+
+        departmentsA.evict("all");
+
+        assertThat(departmentsA.get("all")).isNull();
+        assertThat(departmentsB.get("all")).isNull();
+    }
+
+    @Test
+    void message_SeveralInOnePayload_RoundTrip() {
+        List<InvalidationMessage> messages = List.of(
+                new InvalidationMessage("node", "slots", "1/2030-01-07"),
+                new InvalidationMessage("node", "departments", null)
+        );
+
+        assertThat(InvalidationMessage.decodeAll(InvalidationMessage.encodeAll(messages))).isEqualTo(messages);
+    }
+
+    @Test
+    void publish_IsNotDeliveredBackToSender() {
+        AtomicInteger receivedByA = new AtomicInteger();
+        AtomicInteger receivedByB = new AtomicInteger();
+        nodeA.subscribe("doctors", key -> receivedByA.incrementAndGet());
+        nodeB.subscribe("doctors", key -> receivedByB.incrementAndGet());
+
+        nodeA.publish("doctors", null);
+
+        assertThat(receivedByA).hasValue(0);
+        assertThat(receivedByB).hasValue(1);
+    }
+
+    @Test
+    void slotBooking_OnOneNode_ReloadsDayOnOtherNodes() {
+        SlotAvailabilityIndex indexA = new SlotAvailabilityIndex(nodeA);
+        SlotAvailabilityIndex indexB = new SlotAvailabilityIndex(nodeB);
+        LocalDate date = LocalDate.now().plusDays(1);
+        AtomicInteger loadsOnB = new AtomicInteger();
+
+        indexA.get(1L, date, () -> freeDay());
+        indexB.get(1L, date, () -> {
+            loadsOnB.incrementAndGet();
+            return freeDay();
+        });
+
+        indexA.markBooked(1L, LocalDateTime.of(date, LocalTime.of(9, 0)));
+        DayOccupancy reloaded = indexB.get(1L, date, () -> {
+            loadsOnB.incrementAndGet();
+            return DayOccupancy.of(LocalTime.of(9, 0), LocalTime.of(10, 0), 30,
+                    List.of(LocalDateTime.of(date, LocalTime.of(9, 0))));
+        });
+
+        assertThat(loadsOnB).hasValue(2);
+        assertThat(reloaded.availableSlots(null)).containsExactly(LocalTime.of(9, 30));
+    }
+
+    private static DayOccupancy freeDay() {
+        return DayOccupancy.of(LocalTime.of(9, 0), LocalTime.of(10, 0), 30, List.of());
+    }
+}
@@ -0,0 +1,175 @@
+package com.medisync.MediSync.outbox;
+
+import com.medisync.MediSync.entity.OutboxEvent;
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
+import com.medisync.MediSync.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs without a surrounding test transaction, so the relay commits its own transactions as it does in production.
+ * Tests after which the relay is paused dirty the context.
+ */
+@SpringBootTest(properties = {
+        "application.outbox.sink=memory",
+        "application.outbox.poll-interval=1h",
+        "application.outbox.retry-backoff=1h",
+        "application.outbox.max-attempts=2"
+})
+class OutboxRelayIT {
+
+    @Autowired private OutboxRelay outboxRelay;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @MockitoSpyBean private InMemoryOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        sink.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void relay_PublishesPendingEventsInOrderAndMarksThemPublished() {
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+                event(AppointmentEventType.BOOKED, 1L),
+                event(AppointmentEventType.CANCELLED, 1L)
+        ));
+
+        outboxRelay.relay();
+
+        assertThat(sink.getMessages()).extracting(OutboxMessage::id)
+                .containsExactly(events.get(0).getId(), events.get(1).getId());
+        assertThat(sink.getMessages()).extracting(OutboxMessage::type)
+                .containsExactly(AppointmentEventType.BOOKED, AppointmentEventType.CANCELLED);
+        assertThat(reload(events)).allSatisfy(event -> {
+            assertThat(event.getPublishedAt()).isNotNull();
+            assertThat(event.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void lockDue_EarlierEventUndelivered_HoldsBackLaterEventsOfTheAppointment() {
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+                event(AppointmentEventType.BOOKED, 1L),
+                event(AppointmentEventType.CANCELLED, 1L),
+                event(AppointmentEventType.BOOKED, 2L)
+        ));
+
+        List<Long> due = transactionTemplate.execute(status ->
+                outboxEventRepository.lockDue(LocalDateTime.now(), Limit.of(10)).stream()
+                        .map(OutboxEvent::getId)
+                        .toList());
+
+        assertThat(due).containsExactly(events.get(0).getId(), events.get(2).getId());
+    }
+
+    @Test
+    void relay_OneEventRejected_DeliversOtherAppointmentsAndHoldsItsSuccessors() throws Exception {
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+                event(AppointmentEventType.BOOKED, 1L),
+                event(AppointmentEventType.BOOKED, 2L),
+                event(AppointmentEventType.CANCELLED, 2L),
+                event(AppointmentEventType.BOOKED, 3L)
+        ));
+        Long poisonId = events.get(1).getId();
+        doAnswer(invocation -> {
+            List<OutboxMessage> messages = invocation.getArgument(0);
+            if (messages.stream().anyMatch(message -> message.id().equals(poisonId))) {
+                throw new IOException("payload rejected");
+            }
+            return invocation.callRealMethod();
+        }).when(sink).publish(any());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertThat(sink.getMessages()).extracting(OutboxMessage::id)
+                .containsExactly(events.get(0).getId(), events.get(3).getId());
+
+        List<OutboxEvent> reloaded = reload(events);
+        assertThat(reloaded.get(1).getPublishedAt()).isNull();
+        assertThat(reloaded.get(1).getAttempts()).isEqualTo(1);
+        assertThat(reloaded.get(1).getLastError()).contains("payload rejected");
+        assertThat(reloaded.get(1).getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(30));
+        assertThat(reloaded.get(2).getPublishedAt()).isNull();
+        assertThat(reloaded.get(2).getAttempts()).isZero();
+    }
+
+    @Test
+    @DirtiesContext
+    void relay_SinkFails_BacksOffAndPausesTheRelay() throws Exception {
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+                event(AppointmentEventType.BOOKED, 1L),
+                event(AppointmentEventType.CANCELLED, 2L)
+        ));
+        doThrow(new IOException("connection refused")).when(sink).publish(any());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // The batch, then its first event alone; the second poll is skipped while the relay is paused.
+        verify(sink, times(2)).publish(any());
+        List<OutboxEvent> reloaded = reload(events);
+        assertThat(reloaded.get(0).getPublishedAt()).isNull();
+        assertThat(reloaded.get(0).getAttempts()).isEqualTo(1);
+        assertThat(reloaded.get(0).getLastError()).contains("connection refused");
+        assertThat(reloaded.get(0).getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(reloaded.get(1).getAttempts()).isZero();
+    }
+
+    @Test
+    @DirtiesContext
+    void relay_LastAttemptFails_ParksTheEvent() throws Exception {
+        OutboxEvent failing = event(AppointmentEventType.BOOKED, 1L);
+        failing.setAttempts(1);
+        failing.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(failing));
+        doThrow(new IOException("connection refused")).when(sink).publish(any());
+
+        outboxRelay.relay();
+
+        OutboxEvent parked = reload(events).getFirst();
+        assertThat(parked.getAttempts()).isEqualTo(2);
+        assertThat(parked.getParkedAt()).isNotNull();
+        assertThat(parked.getNextAttemptAt()).isNull();
+        assertThat(parked.getPublishedAt()).isNull();
+    }
+
+    private List<OutboxEvent> reload(List<OutboxEvent> events) {
+        return events.stream()
+                .map(event -> outboxEventRepository.findById(event.getId()).orElseThrow())
+                .toList();
+    }
+
+    private OutboxEvent event(AppointmentEventType type, Long appointmentId) {
+        return OutboxEvent.builder()
+                .eventType(type)
+                .appointmentId(appointmentId)
+                .payload("{\"appointmentId\":" + appointmentId + "}")
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.medisync.MediSync.repository;
+
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.*;
+import com.medisync.MediSync.repository.projection.ScheduledAppointment;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The bulk cancellations are PostgreSQL {@code UPDATE … RETURNING} statements, so they run against the migrated
+ * schema on a real PostgreSQL rather than on H2.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class AppointmentCancellationIT {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AppointmentRepository appointmentRepository;
+
+    private Statistics statistics;
+    private Doctor doctor;
+    private Patient patient;
+    private Appointment first;
+    private Appointment second;
+    private Appointment completed;
+    private Appointment otherDoctors;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Department department = persist(Department.builder().name("Cardiology").description("Heart").build());
+        doctor = persist(doctor("doc@test.com", department));
+        Doctor otherDoctor = persist(doctor("other@test.com", department));
+        patient = persist(patient("pat@test.com"));
+        Patient otherPatient = persist(patient("other-pat@test.com"));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        first = persist(appointment(doctor, patient, AppointmentStatus.SCHEDULED, start));
+        second = persist(appointment(doctor, otherPatient, AppointmentStatus.SCHEDULED, start.plusMinutes(30)));
+        completed = persist(appointment(doctor, patient, AppointmentStatus.COMPLETED, start.minusDays(2)));
+        otherDoctors = persist(appointment(otherDoctor, patient, AppointmentStatus.SCHEDULED, start));
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void cancelScheduledByDoctorId_CancelsInOneStatementAndReturnsTheCancelledRows() {
+        List<ScheduledAppointment> cancelled =
+                appointmentRepository.cancelScheduledByDoctorId(doctor.getId(), LocalDateTime.now());
+
+        assertThat(cancelled).containsExactlyInAnyOrder(scheduled(first), scheduled(second));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(appointmentRepository.findAllById(List.of(first.getId(), second.getId()))).allSatisfy(appointment -> {
+            assertThat(appointment.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+            assertThat(appointment.getActiveSlotTime()).isNull();
+        });
+        assertThat(reload(completed).getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(reload(otherDoctors).getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+    }
+
+    @Test
+    void cancelScheduledByPatientId_LeavesOtherPatientsAndFinishedAppointmentsAlone() {
+        List<ScheduledAppointment> cancelled =
+                appointmentRepository.cancelScheduledByPatientId(patient.getId(), LocalDateTime.now());
+
+        assertThat(cancelled).containsExactlyInAnyOrder(scheduled(first), scheduled(otherDoctors));
+
+        entityManager.clear();
+        assertThat(reload(second).getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        assertThat(reload(completed).getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(appointmentRepository.cancelScheduledByPatientId(patient.getId(), LocalDateTime.now())).isEmpty();
+    }
+
+    private Appointment reload(Appointment appointment) {
+        return appointmentRepository.findById(appointment.getId()).orElseThrow();
+    }
+
+    private static ScheduledAppointment scheduled(Appointment appointment) {
+        return new ScheduledAppointment(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentTime());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private Doctor doctor(String email, Department department) {
+        return Doctor.builder()
+                .user(user(email, Role.DOCTOR))
+                .department(department)
+                .firstName("John").lastName("Doe")
+                .specialization(Specialization.CARDIOLOGY)
+                .appointmentDuration(AppointmentDuration.MINUTES_30)
+                .build();
+    }
+
+    private Patient patient(String email) {
+        return Patient.builder()
+                .user(user(email, Role.PATIENT))
+                .firstName("Jane").lastName("Doe")
+                .dateOfBirth(LocalDate.now().minusYears(25))
+                .gender(Gender.FEMALE)
+                .phoneNumber("0000000000")
+                .build();
+    }
+
+    private static Appointment appointment(Doctor doctor, Patient patient, AppointmentStatus status,
+                                           LocalDateTime time) {
+        return Appointment.builder()
+                .doctor(doctor)
+                .patient(patient)
+                .status(status)
+                .appointmentTime(time)
+                .reason("Checkup")
+                .build();
+    }
+
+    private User user(String email, Role role) {
+        return persist(User.builder()
+                .email(email)
+                .password("pass")
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+}
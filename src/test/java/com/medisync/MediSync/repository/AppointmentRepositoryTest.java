@@ -0,0 +1,215 @@
+package com.medisync.MediSync.repository;
+
+import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AppointmentRepositoryTest {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AppointmentRepository appointmentRepository;
+
+    private Statistics statistics;
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Department department = entityManager.persist(Department.builder()
+                .name("Cardiology")
+                .description("Heart")
+                .build());
+
+        doctor = entityManager.persist(Doctor.builder()
+                .user(user("doc@test.com", Role.DOCTOR))
+                .department(department)
+                .firstName("John").lastName("Doe")
+                .specialization(Specialization.CARDIOLOGY)
+                .appointmentDuration(AppointmentDuration.MINUTES_30)
+                .build());
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            patients.add(entityManager.persist(Patient.builder()
+                    .user(user("pat" + i + "@test.com", Role.PATIENT))
+                    .firstName("Jane" + i)
+                    .lastName("Doe")
+                    .dateOfBirth(LocalDate.now().minusYears(25))
+                    .gender(Gender.FEMALE)
+                    .phoneNumber("0000000000")
+                    .build()));
+        }
+        patient = patients.getFirst();
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < 20; i++) {
+            Appointment appointment = entityManager.persist(Appointment.builder()
+                    .doctor(doctor)
+                    .patient(patients.get(i % patients.size()))
+                    .status(i % 2 == 0 ? AppointmentStatus.COMPLETED : AppointmentStatus.SCHEDULED)
+                    .appointmentTime(start.plusDays(i))
+                    .reason("Checkup " + i)
+                    .build());
+
+            if (appointment.getStatus() == AppointmentStatus.COMPLETED) {
+                entityManager.persist(MedicalRecord.builder()
+                        .appointment(appointment)
+                        .diagnosis("Healthy")
+                        .build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Doctor appointment page is loaded and mapped in a single statement")
+    void findDoctorAppointmentPage_SingleStatement() {
+        List<AppointmentDto> appointments = appointmentRepository.findDoctorAppointmentPage(
+                        doctor.getId(), null, EARLIEST, LATEST, Limit.of(50)).stream()
+                .map(AppointmentDto::mapToDto)
+                .toList();
+
+        assertEquals(20, appointments.size());
+        assertEquals(10, appointments.stream().filter(a -> a.getMedicalRecord() != null).count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Patient appointment page is loaded and mapped in a single statement")
+    void findPatientAppointmentPage_SingleStatement() {
+        List<AppointmentDto> appointments = appointmentRepository.findPatientAppointmentPage(
+                        patient.getId(), null, EARLIEST, LATEST, Limit.of(50)).stream()
+                .map(AppointmentDto::mapToDto)
+                .toList();
+
+        assertEquals(4, appointments.size());
+        assertTrue(appointments.stream().allMatch(a -> a.getPatient().getEmail().equals("pat0@test.com")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Walking doctor appointment pages by cursor visits every matching appointment once, in order")
+    void findDoctorAppointmentPage_KeysetWalk() {
+        List<Appointment> visited = new ArrayList<>();
+        LocalDateTime afterTime = null;
+        Long afterId = null;
+
+        while (true) {
+            List<Appointment> page = afterTime == null
+                    ? appointmentRepository.findDoctorAppointmentPage(
+                            doctor.getId(), AppointmentStatus.SCHEDULED, EARLIEST, LATEST, Limit.of(3))
+                    : appointmentRepository.findDoctorAppointmentPageAfter(
+                            doctor.getId(), AppointmentStatus.SCHEDULED, EARLIEST, LATEST, afterTime, afterId,
+                            Limit.of(3));
+            if (page.isEmpty()) {
+                break;
+            }
+            visited.addAll(page);
+            afterTime = page.getLast().getAppointmentTime();
+            afterId = page.getLast().getId();
+        }
+
+        assertEquals(10, visited.size());
+        assertEquals(10, visited.stream().map(Appointment::getId).distinct().count());
+        assertTrue(visited.stream().allMatch(a -> a.getStatus() == AppointmentStatus.SCHEDULED));
+        for (int i = 1; i < visited.size(); i++) {
+            assertTrue(visited.get(i).getAppointmentTime().isAfter(visited.get(i - 1).getAppointmentTime()));
+        }
+    }
+
+    @Test
+    @DisplayName("Doctor appointment page honours the date range")
+    void findDoctorAppointmentPage_DateRange() {
+        LocalDateTime from = LocalDateTime.now().minusDays(25).toLocalDate().atStartOfDay();
+        LocalDateTime to = from.plusDays(5);
+
+        List<Appointment> appointments = appointmentRepository.findDoctorAppointmentPage(
+                doctor.getId(), null, from, to, Limit.of(50));
+
+        assertEquals(5, appointments.size());
+        assertTrue(appointments.stream().allMatch(a ->
+                !a.getAppointmentTime().isBefore(from) && a.getAppointmentTime().isBefore(to)));
+    }
+
+    @Test
+    @DisplayName("Saving many appointments inserts them in one JDBC batch")
+    void saveAll_BatchesInserts() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            appointments.add(Appointment.builder()
+                    .doctor(doctor)
+                    .patient(patient)
+                    .status(AppointmentStatus.SCHEDULED)
+                    .appointmentTime(start.plusMinutes(30L * i))
+                    .reason("Series " + i)
+                    .build());
+        }
+
+        appointmentRepository.saveAllAndFlush(appointments);
+
+        // One sequence call covers all 40 ids, and the inserts go out as a single batch.
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findChangedSince - Pages in change order and returns later updates as the delta")
+    void findChangedSince_PagesInChangeOrder() {
+        LocalDateTime until = LocalDateTime.now().plusMinutes(1);
+
+        List<Appointment> firstPage = appointmentRepository.findChangedSince(EARLIEST, 0L, until, Limit.of(15));
+        Appointment pageEnd = firstPage.getLast();
+        List<Appointment> secondPage = appointmentRepository.findChangedSince(
+                pageEnd.getUpdatedAt(), pageEnd.getId(), until, Limit.of(15));
+
+        assertEquals(15, firstPage.size());
+        assertEquals(5, secondPage.size());
+        assertTrue(firstPage.stream().allMatch(appointment -> appointment.getUpdatedAt() != null));
+
+        Appointment changed = firstPage.getFirst();
+        changed.setReason("Rescheduled");
+        entityManager.flush();
+
+        Appointment feedEnd = secondPage.getLast();
+        List<Appointment> delta = appointmentRepository.findChangedSince(
+                feedEnd.getUpdatedAt(), feedEnd.getId(), LocalDateTime.now().plusMinutes(1), Limit.of(15));
+
+        assertEquals(List.of(changed.getId()), delta.stream().map(Appointment::getId).toList());
+    }
+
+    private User user(String email, Role role) {
+        return entityManager.persist(User.builder()
+                .email(email)
+                .password("pass")
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+}
@@ -0,0 +1,67 @@
+package com.medisync.MediSync.repository;
+
+import com.medisync.MediSync.entity.Allergy;
+import com.medisync.MediSync.entity.Patient;
+import com.medisync.MediSync.entity.User;
+import com.medisync.MediSync.entity.enums.AllergyCategory;
+import com.medisync.MediSync.entity.enums.Gender;
+import com.medisync.MediSync.entity.enums.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PatientRepositoryTest {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private PatientRepository patientRepository;
+
+    @Test
+    @DisplayName("Removing an allergy deletes only its join table rows")
+    void removeAllergyFromPatients_DeletesLinks() {
+        Allergy peanuts = entityManager.persist(allergy("Peanuts", "PNT"));
+        Allergy pollen = entityManager.persist(allergy("Pollen", "POL"));
+
+        List<Long> patientIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            patientIds.add(entityManager.persist(Patient.builder()
+                    .user(entityManager.persist(User.builder()
+                            .email("pat" + i + "@test.com")
+                            .password("pass")
+                            .role(Role.PATIENT)
+                            .isActive(true)
+                            .build()))
+                    .firstName("Jane" + i)
+                    .lastName("Doe")
+                    .dateOfBirth(LocalDate.now().minusYears(30))
+                    .gender(Gender.FEMALE)
+                    .phoneNumber("0000000000")
+                    .allergies(new ArrayList<>(List.of(peanuts, pollen)))
+                    .build()).getId());
+        }
+        entityManager.flush();
+
+        int removed = patientRepository.removeAllergyFromPatients(peanuts.getId());
+
+        assertEquals(3, removed);
+        for (Patient patient : patientRepository.findAllById(patientIds)) {
+            assertEquals(List.of("Pollen"), patient.getAllergies().stream().map(Allergy::getName).toList());
+        }
+    }
+
+    private static Allergy allergy(String name, String code) {
+        return Allergy.builder()
+                .name(name)
+                .code(code)
+                .category(AllergyCategory.FOOD)
+                .build();
+    }
+}
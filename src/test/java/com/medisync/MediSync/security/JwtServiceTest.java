@@ -0,0 +1,95 @@
+package com.medisync.MediSync.security;
+
+import com.medisync.MediSync.config.ApplicationProperties;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.invalidation.LocalInvalidationBus;
+import com.medisync.MediSync.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-signing-jwt-tokens-0123456789";
+
+    private JwtService jwtService;
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.setSecretKey(SECRET);
+        tokenRevocationRegistry = new TokenRevocationRegistry(mock(UserRepository.class), new LocalInvalidationBus());
+        jwtService = new JwtService(properties, tokenRevocationRegistry);
+        user = AuthenticatedUser.builder().userId(7L).email("doctor@test.com").role(Role.DOCTOR).doctorId(3L).build();
+    }
+
+    @Test
+    void parseClaims_ValidToken_ReturnsClaims() {
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.parseClaims(token);
+
+        assertThat(claims.getSubject()).isEqualTo("doctor@test.com");
+        AuthenticatedUser extracted = jwtService.extractUser(claims);
+        assertThat(extracted.getUserId()).isEqualTo(7L);
+        assertThat(extracted.getRole()).isEqualTo(Role.DOCTOR);
+        assertThat(extracted.getDoctorId()).isEqualTo(3L);
+        assertThat(extracted.getPatientId()).isNull();
+        assertThat(jwtService.isTokenValid(claims)).isTrue();
+    }
+
+    @Test
+    void isTokenValid_RevokedUser_ReturnsFalse() {
+        Claims claims = jwtService.parseClaims(jwtService.generateToken(user));
+
+        tokenRevocationRegistry.revokeTokensOf(7L);
+
+        assertThat(jwtService.isTokenValid(claims)).isFalse();
+    }
+
+    @Test
+    void parseClaims_SameTokenTwice_ReusesVerifiedClaims() {
+        String token = jwtService.generateToken(user);
+
+        assertThat(jwtService.parseClaims(token)).isSameAs(jwtService.parseClaims(token));
+    }
+
+    @Test
+    void parseClaims_TamperedToken_ThrowsException() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.parseClaims(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void parseClaims_ExpiredToken_ThrowsException() {
+        Instant issuedAt = Instant.now().minus(11, ChronoUnit.HOURS);
+        String token = Jwts.builder()
+                .setSubject("doctor@test.com")
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plus(10, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseClaims(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
@@ -0,0 +1,172 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.dto.MedicalRecordCreateDto;
+import com.medisync.MediSync.entity.*;
+import com.medisync.MediSync.entity.enums.*;
+import com.medisync.MediSync.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AppointmentExportServiceIT {
+
+    @Autowired private AppointmentExportService appointmentExportService;
+    @Autowired private MedicalRecordService medicalRecordService;
+    @Autowired private AppointmentRepository appointmentRepository;
+    @Autowired private MedicalRecordRepository medicalRecordRepository;
+    @Autowired private DoctorRepository doctorRepository;
+    @Autowired private PatientRepository patientRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    private Department cardiology;
+    private Appointment completed;
+    private Appointment scheduled;
+    private MedicalRecord record;
+
+    @BeforeEach
+    void setUp() {
+        cardiology = departmentRepository.save(Department.builder().name("Cardiology").build());
+        Department neurology = departmentRepository.save(Department.builder().name("Neurology").build());
+        Doctor cardiologist = doctor("card@test.com", cardiology, Specialization.CARDIOLOGY);
+        Doctor neurologist = doctor("neuro@test.com", neurology, Specialization.NEUROLOGY);
+
+        Patient patient = patientRepository.save(Patient.builder()
+                .user(user("pat@test.com", Role.PATIENT))
+                .firstName("Jane")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 5, 1))
+                .gender(Gender.FEMALE)
+                .phoneNumber("0000000000")
+                .build());
+
+        completed = appointment(cardiologist, patient, AppointmentStatus.COMPLETED, "Chest pain, follow-up");
+        scheduled = appointment(cardiologist, patient, AppointmentStatus.SCHEDULED, "Checkup");
+        appointment(neurologist, patient, AppointmentStatus.SCHEDULED, "Headache");
+
+        record = medicalRecordRepository.saveAndFlush(MedicalRecord.builder()
+                .appointment(completed)
+                .diagnosis("Angina")
+                .prescription("Nitroglycerin \"as needed\"")
+                .build());
+    }
+
+    @Test
+    void export_Ndjson_JoinsMedicalRecordsAndResumesFromWatermark() throws IOException {
+        List<JsonNode> rows = ndjson(export(filter(cardiology.getId(), null), AppointmentExportService.Format.NDJSON, false));
+
+        assertThat(rows).extracting(row -> row.get("appointmentId").asLong())
+                .containsExactlyInAnyOrder(completed.getId(), scheduled.getId());
+        JsonNode completedRow = rows.stream()
+                .filter(row -> row.get("appointmentId").asLong() == completed.getId())
+                .findFirst().orElseThrow();
+        assertThat(completedRow.get("diagnosis").asString()).isEqualTo("Angina");
+        assertThat(completedRow.get("departmentName").asString()).isEqualTo("Cardiology");
+        assertThat(completedRow.get("patientGender").asString()).isEqualTo("FEMALE");
+
+        String watermark = rows.getFirst().get("watermark").asString();
+        List<JsonNode> resumed = ndjson(export(filter(cardiology.getId(), watermark), AppointmentExportService.Format.NDJSON, false));
+
+        assertThat(resumed).extracting(row -> row.get("appointmentId").asLong())
+                .containsExactly(rows.get(1).get("appointmentId").asLong());
+    }
+
+    @Test
+    void export_MedicalRecordChanged_ExportsAppointmentAgainAfterWatermark() throws IOException {
+        List<JsonNode> rows = ndjson(export(filter(cardiology.getId(), null), AppointmentExportService.Format.NDJSON, false));
+        String watermark = rows.getLast().get("watermark").asString();
+
+        medicalRecordService.updateMedicalRecord(record.getId(), MedicalRecordCreateDto.builder()
+                .diagnosis("Stable angina")
+                .build());
+        appointmentRepository.flush();
+
+        List<JsonNode> resumed = ndjson(export(filter(cardiology.getId(), watermark), AppointmentExportService.Format.NDJSON, false));
+
+        assertThat(resumed).extracting(row -> row.get("appointmentId").asLong()).containsExactly(completed.getId());
+        assertThat(resumed.getFirst().get("diagnosis").asString()).isEqualTo("Stable angina");
+    }
+
+    @Test
+    void export_GzippedCsv_QuotesValuesAndSkipsRecentChanges() throws IOException {
+        byte[] gzipped = export(filter(null, null), AppointmentExportService.Format.CSV, true);
+        String csv;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.getFirst()).startsWith("appointmentId,appointmentTime,status,reason,").endsWith(",watermark");
+        assertThat(csv).contains("\"Chest pain, follow-up\"").contains("\"Nitroglycerin \"\"as needed\"\"\"");
+
+        AppointmentExportService.ExportFilter current = appointmentExportService.filter(null, null, null, null);
+        assertThat(export(current, AppointmentExportService.Format.CSV, false))
+                .asString(StandardCharsets.UTF_8).hasLineCount(1);
+    }
+
+    private AppointmentExportService.ExportFilter filter(Long departmentId, String since) {
+        AppointmentExportService.ExportFilter validated = appointmentExportService.filter(departmentId, null, null, since);
+        // Rows created by the test are younger than the settle time, so move the upper bound past them.
+        return new AppointmentExportService.ExportFilter(validated.departmentId(), validated.from(), validated.to(),
+                LocalDateTime.now().plusMinutes(1), validated.since());
+    }
+
+    private byte[] export(AppointmentExportService.ExportFilter filter, AppointmentExportService.Format format,
+                          boolean gzip) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        appointmentExportService.export(filter, format, gzip, output);
+        return output.toByteArray();
+    }
+
+    private List<JsonNode> ndjson(byte[] output) {
+        return new String(output, StandardCharsets.UTF_8).lines().map(objectMapper::readTree).toList();
+    }
+
+    private Doctor doctor(String email, Department department, Specialization specialization) {
+        return doctorRepository.save(Doctor.builder()
+                .user(user(email, Role.DOCTOR))
+                .department(department)
+                .firstName("John").lastName("Doe")
+                .specialization(specialization)
+                .appointmentDuration(AppointmentDuration.MINUTES_30)
+                .build());
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("pass")
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+
+    private Appointment appointment(Doctor doctor, Patient patient, AppointmentStatus status, String reason) {
+        return appointmentRepository.save(Appointment.builder()
+                .doctor(doctor)
+                .patient(patient)
+                .status(status)
+                .appointmentTime(LocalDateTime.now().minusDays(1))
+                .reason(reason)
+                .build());
+    }
+}
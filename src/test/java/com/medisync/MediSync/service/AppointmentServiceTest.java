@@ -2,20 +2,35 @@ package com.medisync.MediSync.service;
 
 import com.medisync.MediSync.dto.AppointmentBookDto;
 import com.medisync.MediSync.dto.AppointmentDto;
+import com.medisync.MediSync.dto.AppointmentSeriesBookDto;
+import com.medisync.MediSync.dto.AvailableSlotDto;
+import com.medisync.MediSync.dto.CursorPageDto;
 import com.medisync.MediSync.dto.MedicalRecordCreateDto;
 import com.medisync.MediSync.dto.MedicalRecordDto;
+import com.medisync.MediSync.dto.PageCursor;
 import com.medisync.MediSync.entity.*;
 import com.medisync.MediSync.entity.enums.AppointmentDuration;
+import com.medisync.MediSync.entity.enums.AppointmentEventType;
 import com.medisync.MediSync.entity.enums.AppointmentStatus;
+import com.medisync.MediSync.entity.enums.Role;
 import com.medisync.MediSync.entity.enums.Specialization;
 import com.medisync.MediSync.exception.ResourceNotFoundException;
+import com.medisync.MediSync.invalidation.LocalInvalidationBus;
+import com.medisync.MediSync.outbox.AppointmentEventOutbox;
 import com.medisync.MediSync.repository.*;
+import com.medisync.MediSync.repository.projection.BookedSlot;
+import com.medisync.MediSync.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.*;
 import java.util.ArrayList;
@@ -35,7 +50,9 @@ class AppointmentServiceTest {
     @Mock private DoctorRepository doctorRepository;
     @Mock private DoctorScheduleRepository doctorScheduleRepository;
     @Mock private MedicalRecordRepository medicalRecordRepository;
-    @Mock private UserRepository userRepository;
+    @Mock private AppointmentEventOutbox appointmentEventOutbox;
+    @Spy private SlotAvailabilityIndex slotAvailabilityIndex = new SlotAvailabilityIndex(new LocalInvalidationBus());
+    @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -44,6 +61,8 @@ class AppointmentServiceTest {
     private Patient patient;
     private DoctorSchedule schedule;
     private Appointment appointment;
+    private AuthenticatedUser doctorPrincipal;
+    private AuthenticatedUser patientPrincipal;
 
     @BeforeEach
     void setUp() {
@@ -82,60 +101,130 @@ class AppointmentServiceTest {
                 .appointmentTime(LocalDateTime.of(2025, 1, 1, 9, 0)) // Past date for completion tests
                 .build();
 
+        doctorPrincipal = AuthenticatedUser.builder()
+                .userId(1L).email("doctor@test.com").role(Role.DOCTOR).doctorId(1L)
+                .build();
+        patientPrincipal = AuthenticatedUser.builder()
+                .userId(2L).email("patient@test.com").role(Role.PATIENT).patientId(2L)
+                .build();
+
 
     }
 
     @Test
     void findById_Success() {
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        AppointmentDto result = appointmentService.findById(100L, appointment.getDoctor().getUser().getEmail());
+        AppointmentDto result = appointmentService.findById(100L, doctorPrincipal);
         assertThat(result.getId()).isEqualTo(100L);
     }
 
     @Test
     void findById_NotFound() {
         when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.findById(999L, appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.findById(999L, doctorPrincipal))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
     void getPatientAppointments_Success() {
-        when(patientRepository.findById(2L)).thenReturn(Optional.of(patient));
-        when(appointmentRepository.findByPatient(patient)).thenReturn(List.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getPatient().getUser()));
+        when(patientRepository.existsById(2L)).thenReturn(true);
+        when(appointmentRepository.findPatientAppointmentPage(
+                eq(2L), isNull(), any(LocalDateTime.class), any(LocalDateTime.class), eq(Limit.of(21))))
+                .thenReturn(List.of(appointment));
 
-        List<AppointmentDto> results = appointmentService.getPatientAppointments(2L,
-                appointment.getPatient().getUser().getEmail());
-        assertThat(results).hasSize(1);
+        CursorPageDto<AppointmentDto> results = appointmentService.getPatientAppointments(2L, null, null, null,
+                null, 20, patientPrincipal);
+        assertThat(results.getContent()).hasSize(1);
+        assertThat(results.isHasMore()).isFalse();
+        assertThat(results.getNextCursor()).isNull();
     }
 
     @Test
     void getPatientAppointments_PatientNotFound() {
-        when(patientRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.getPatientAppointments(99L,
-                appointment.getPatient().getUser().getEmail()))
+        when(patientRepository.existsById(99L)).thenReturn(false);
+        assertThatThrownBy(() -> appointmentService.getPatientAppointments(99L, null, null, null, null, 20,
+                patientPrincipal))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
     void getDoctorAppointments_Success() {
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
-        when(appointmentRepository.findByDoctor(doctor)).thenReturn(List.of(appointment));
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(appointmentRepository.findDoctorAppointmentPage(
+                eq(1L), isNull(), any(LocalDateTime.class), any(LocalDateTime.class), eq(Limit.of(21))))
+                .thenReturn(List.of(appointment));
 
-        List<AppointmentDto> results = appointmentService.getDoctorAppointments(1L);
-        assertThat(results).hasSize(1);
+        CursorPageDto<AppointmentDto> results = appointmentService.getDoctorAppointments(1L, null, null, null, null, 20);
+        assertThat(results.getContent()).hasSize(1);
     }
 
     @Test
     void getDoctorAppointments_DoctorNotFound() {
-        when(doctorRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.getDoctorAppointments(99L))
+        when(doctorRepository.existsById(99L)).thenReturn(false);
+        assertThatThrownBy(() -> appointmentService.getDoctorAppointments(99L, null, null, null, null, 20))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void getDoctorAppointments_MorePages_ReturnsCursorOfLastRow() {
+        Appointment next = Appointment.builder()
+                .id(101L)
+                .doctor(doctor)
+                .patient(patient)
+                .status(AppointmentStatus.SCHEDULED)
+                .appointmentTime(appointment.getAppointmentTime().plusMinutes(30))
+                .build();
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(appointmentRepository.findDoctorAppointmentPage(1L, AppointmentStatus.SCHEDULED,
+                from.atStartOfDay(), LocalDate.of(2025, 2, 1).atStartOfDay(), Limit.of(2)))
+                .thenReturn(List.of(appointment, next));
+
+        CursorPageDto<AppointmentDto> page = appointmentService.getDoctorAppointments(1L, "scheduled", from, to, null, 1);
+
+        assertThat(page.getContent()).extracting(AppointmentDto::getId).containsExactly(100L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor()))
+                .isEqualTo(new PageCursor(appointment.getAppointmentTime(), 100L));
+    }
+
+    @Test
+    void getDoctorAppointments_WithCursor_ContinuesAfterIt() {
+        PageCursor cursor = new PageCursor(appointment.getAppointmentTime(), 100L);
+
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(appointmentRepository.findDoctorAppointmentPageAfter(eq(1L), isNull(), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(appointment.getAppointmentTime()), eq(100L), eq(Limit.of(21))))
+                .thenReturn(List.of());
+
+        CursorPageDto<AppointmentDto> page = appointmentService.getDoctorAppointments(1L, null, null, null,
+                cursor.encode(), 20);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getDoctorAppointments_InvalidCursor_ThrowsException() {
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> appointmentService.getDoctorAppointments(1L, null, null, null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cursor");
+    }
+
+    @Test
+    void getDoctorAppointments_PageSizeTooLarge_ThrowsException() {
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> appointmentService.getDoctorAppointments(1L, null, null, null, null, 500))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Page size");
+    }
+
     // Tests for getAvailableSlots
 
     @Test
@@ -186,19 +275,13 @@ class AppointmentServiceTest {
 
 
         LocalDate date = LocalDate.now().plusDays(1);
-        List<Appointment> fullDayAppointments = new ArrayList<>();
+        List<LocalDateTime> fullDayAppointments = new ArrayList<>();
 
         LocalTime currentTime = LocalTime.of(9, 0);
         LocalTime endTime = LocalTime.of(10, 0);
 
         while (currentTime.isBefore(endTime)) {
-            fullDayAppointments.add(Appointment.builder()
-                    .id((long) fullDayAppointments.size() + 1)
-                    .doctor(doctor)
-                    .patient(patient)
-                    .status(AppointmentStatus.SCHEDULED)
-                    .appointmentTime(LocalDateTime.of(date, currentTime))
-                    .build());
+            fullDayAppointments.add(LocalDateTime.of(date, currentTime));
 
             currentTime = currentTime.plusMinutes(30);
         }
@@ -206,7 +289,7 @@ class AppointmentServiceTest {
         when(doctorRepository.existsByIdAndUserIsActive(1L, true)).thenReturn(true);
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, date.getDayOfWeek()))
                 .thenReturn(Optional.of(schedule));
-        when(appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(any(), any(), any()))
+        when(appointmentRepository.findBookedTimesByDoctorId(any(), any(), any()))
                 .thenReturn(fullDayAppointments);
 
         List<LocalTime> slots = appointmentService.getAvailableSlots(1L, date);
@@ -216,13 +299,89 @@ class AppointmentServiceTest {
 
     }
 
+    @Test
+    void getAvailableSlots_SecondLookup_ServedFromIndex() {
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        when(doctorRepository.existsByIdAndUserIsActive(1L, true)).thenReturn(true);
+        when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, date.getDayOfWeek()))
+                .thenReturn(Optional.of(schedule));
+
+        List<LocalTime> first = appointmentService.getAvailableSlots(1L, date);
+        List<LocalTime> second = appointmentService.getAvailableSlots(1L, date);
+
+        assertThat(second).isEqualTo(first).containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        verify(doctorScheduleRepository, times(1)).findByDoctorIdAndDayOfWeek(1L, date.getDayOfWeek());
+        verify(appointmentRepository, times(1)).findBookedTimesByDoctorId(any(), any(), any());
+    }
+
+    @Test
+    void getAvailableSlots_ReflectsBookingAndCancellation() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDateTime slot = LocalDateTime.of(date, LocalTime.of(9, 30));
+
+        when(doctorRepository.existsByIdAndUserIsActive(1L, true)).thenReturn(true);
+        when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, date.getDayOfWeek()))
+                .thenReturn(Optional.of(schedule));
+
+        appointmentService.getAvailableSlots(1L, date);
+
+        slotAvailabilityIndex.markBooked(1L, slot);
+        assertThat(appointmentService.getAvailableSlots(1L, date)).containsExactly(LocalTime.of(9, 0));
+
+        slotAvailabilityIndex.markFreed(1L, slot);
+        assertThat(appointmentService.getAvailableSlots(1L, date))
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+    }
+
+    // Tests for searchAvailableSlots
+
+    @Test
+    void searchAvailableSlots_NoFilter_ThrowsException() {
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        assertThatThrownBy(() -> appointmentService.searchAvailableSlots(null, null, from, from.plusDays(7), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("specialization or a department");
+    }
+
+    @Test
+    void searchAvailableSlots_RangeTooLong_ThrowsException() {
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        assertThatThrownBy(() -> appointmentService.searchAvailableSlots("CARDIOLOGY", null, from, from.plusDays(40), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot exceed");
+    }
+
+    @Test
+    void searchAvailableSlots_ReturnsEarliestFreeSlotsAcrossDays() {
+        LocalDate firstMonday = LocalDate.now().with(java.time.temporal.TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDate secondMonday = firstMonday.plusWeeks(1);
+
+        when(doctorRepository.findActiveBySpecializationAndDepartment(Specialization.CARDIOLOGY, null))
+                .thenReturn(List.of(doctor));
+        when(doctorScheduleRepository.findByDoctorIdIn(any())).thenReturn(List.of(schedule));
+        when(appointmentRepository.findBookedSlotsByDoctorIds(any(), any(), any()))
+                .thenReturn(List.of(new BookedSlot(1L, LocalDateTime.of(firstMonday, LocalTime.of(9, 0)))));
+
+        List<AvailableSlotDto> slots = appointmentService.searchAvailableSlots(
+                "cardiology", null, firstMonday, secondMonday, 2);
+
+        assertThat(slots).extracting(AvailableSlotDto::getSlotTime).containsExactly(
+                LocalDateTime.of(firstMonday, LocalTime.of(9, 30)),
+                LocalDateTime.of(secondMonday, LocalTime.of(9, 0))
+        );
+        assertThat(slots).allMatch(slot -> slot.getDoctorId().equals(1L));
+    }
+
     // Tests for bookAppointment
 
     @Test
     void bookAppointment_DoctorNotFound() {
         AppointmentBookDto dto = new AppointmentBookDto();
         dto.setDoctorId(99L);
-        when(doctorRepository.findByIdWithLock(99L)).thenReturn(Optional.empty());
+        when(doctorRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> appointmentService.bookAppointment(dto))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -234,7 +393,7 @@ class AppointmentServiceTest {
         AppointmentBookDto dto = new AppointmentBookDto();
         dto.setDoctorId(1L);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
 
         assertThatThrownBy(() -> appointmentService.bookAppointment(dto))
                 .isInstanceOf(IllegalStateException.class)
@@ -248,7 +407,7 @@ class AppointmentServiceTest {
         dto.setDoctorId(1L);
         dto.setAppointmentTime(LocalDateTime.of(nextTues, LocalTime.of(9, 0)));
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.TUESDAY))
                 .thenReturn(Optional.empty());
 
@@ -266,7 +425,7 @@ class AppointmentServiceTest {
         dto.setDoctorId(1L);
         dto.setAppointmentTime(tryBookDate);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY))
                 .thenReturn(Optional.of(schedule));
 
@@ -284,7 +443,7 @@ class AppointmentServiceTest {
         dto.setDoctorId(1L);
         dto.setAppointmentTime(misaligned);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY))
                 .thenReturn(Optional.of(schedule));
 
@@ -300,17 +459,23 @@ class AppointmentServiceTest {
 
         AppointmentBookDto dto = new AppointmentBookDto();
         dto.setDoctorId(1L);
+        dto.setPatientId(2L);
         dto.setAppointmentTime(validTime);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY))
                 .thenReturn(Optional.of(schedule));
-
-        when(appointmentRepository.existsByDoctorAppointmentTime(1L, validTime)).thenReturn(true);
+        when(patientRepository.findById(2L)).thenReturn(Optional.of(patient));
+        when(appointmentRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_appointments_doctor_active_slot"));
 
         assertThatThrownBy(() -> appointmentService.bookAppointment(dto))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("already booked");
+        assertThat(meterRegistry.counter("medisync.appointments.booking.rejections", "reason", "slot_taken").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.timer("medisync.appointments.booking", "outcome", "rejected").count())
+                .isEqualTo(1);
     }
 
     @Test
@@ -323,10 +488,9 @@ class AppointmentServiceTest {
         dto.setPatientId(99L);
         dto.setAppointmentTime(validTime);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY))
                 .thenReturn(Optional.of(schedule));
-        when(appointmentRepository.existsByDoctorAppointmentTime(1L, validTime)).thenReturn(false);
         when(patientRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> appointmentService.bookAppointment(dto))
@@ -344,15 +508,82 @@ class AppointmentServiceTest {
         dto.setPatientId(2L);
         dto.setAppointmentTime(validTime);
 
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
         when(doctorScheduleRepository.findByDoctorIdAndDayOfWeek(1L, DayOfWeek.MONDAY))
                 .thenReturn(Optional.of(schedule));
-        when(appointmentRepository.existsByDoctorAppointmentTime(1L, validTime)).thenReturn(false);
         when(patientRepository.findById(2L)).thenReturn(Optional.of(patient));
-        when(appointmentRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+        when(appointmentRepository.saveAndFlush(any())).thenAnswer(i -> i.getArguments()[0]);
 
         AppointmentDto res = appointmentService.bookAppointment(dto);
         assertThat(res.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        verify(appointmentEventOutbox).record(eq(AppointmentEventType.BOOKED), any());
+    }
+
+    // Tests for bookAppointmentSeries
+
+    private AppointmentSeriesBookDto seriesDto(LocalDateTime firstAppointmentTime, int occurrences) {
+        AppointmentSeriesBookDto dto = new AppointmentSeriesBookDto();
+        dto.setDoctorId(1L);
+        dto.setPatientId(2L);
+        dto.setFirstAppointmentTime(firstAppointmentTime);
+        dto.setOccurrences(occurrences);
+        dto.setIntervalWeeks(1);
+        dto.setReason("Physiotherapy");
+        return dto;
+    }
+
+    @Test
+    void bookAppointmentSeries_OccurrenceMisaligned() {
+        LocalDate nextMon = LocalDate.now().with(java.time.temporal.TemporalAdjusters.next(DayOfWeek.MONDAY));
+        AppointmentSeriesBookDto dto = seriesDto(LocalDateTime.of(nextMon, LocalTime.of(9, 15)), 4);
+
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorScheduleRepository.findByDoctorId(1L)).thenReturn(List.of(schedule));
+
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not aligned");
+        verify(appointmentRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void bookAppointmentSeries_OccurrenceAlreadyBooked() {
+        LocalDate nextMon = LocalDate.now().with(java.time.temporal.TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDateTime first = LocalDateTime.of(nextMon, LocalTime.of(9, 0));
+        AppointmentSeriesBookDto dto = seriesDto(first, 4);
+
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorScheduleRepository.findByDoctorId(1L)).thenReturn(List.of(schedule));
+        when(appointmentRepository.findBookedTimesByDoctorId(1L, first, first.plusWeeks(3)))
+                .thenReturn(List.of(first.plusWeeks(2)));
+
+        assertThatThrownBy(() -> appointmentService.bookAppointmentSeries(dto))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already booked");
+        verify(appointmentRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void bookAppointmentSeries_Success() {
+        LocalDate nextMon = LocalDate.now().with(java.time.temporal.TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDateTime first = LocalDateTime.of(nextMon, LocalTime.of(9, 0));
+        AppointmentSeriesBookDto dto = seriesDto(first, 12);
+
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorScheduleRepository.findByDoctorId(1L)).thenReturn(List.of(schedule));
+        when(appointmentRepository.findBookedTimesByDoctorId(1L, first, first.plusWeeks(11))).thenReturn(List.of());
+        when(patientRepository.findById(2L)).thenReturn(Optional.of(patient));
+        when(appointmentRepository.saveAllAndFlush(any())).thenAnswer(i -> i.getArguments()[0]);
+
+        List<AppointmentDto> result = appointmentService.bookAppointmentSeries(dto);
+
+        assertThat(result).hasSize(12);
+        assertThat(result).extracting(AppointmentDto::getAppointmentTime)
+                .containsExactly(java.util.stream.IntStream.range(0, 12)
+                        .mapToObj(first::plusWeeks)
+                        .toArray(LocalDateTime[]::new));
+        verify(appointmentRepository, times(1)).saveAllAndFlush(any());
+        verify(appointmentEventOutbox).recordAll(eq(AppointmentEventType.BOOKED), argThat(appointments -> appointments.size() == 12));
     }
 
     // Tests for completeAppointment
@@ -360,7 +591,7 @@ class AppointmentServiceTest {
     @Test
     void completeAppointment_NotFound() {
         when(appointmentRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.completeAppointment(99L, new MedicalRecordCreateDto(), appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.completeAppointment(99L, new MedicalRecordCreateDto(), doctorPrincipal))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
@@ -368,9 +599,8 @@ class AppointmentServiceTest {
     void completeAppointment_WrongStatus() {
         appointment.setStatus(AppointmentStatus.CANCELLED);
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), doctorPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot complete appointment with" +
                         AppointmentStatus.COMPLETED + ", " +
@@ -383,9 +613,7 @@ class AppointmentServiceTest {
         appointment.setMedicalRecord(new MedicalRecord());
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
 
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
-
-        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), doctorPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("A medical record already exists for this appointment");
     }
@@ -394,9 +622,8 @@ class AppointmentServiceTest {
     void completeAppointment_FutureDate_CannotComplete() {
         appointment.setAppointmentTime(LocalDateTime.now().plusDays(1));
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.completeAppointment(100L, new MedicalRecordCreateDto(), doctorPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot complete an appointment that hasn't started yet");
     }
@@ -407,13 +634,12 @@ class AppointmentServiceTest {
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
         when(medicalRecordRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
 
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
-
         MedicalRecordCreateDto dto = new MedicalRecordCreateDto("Flu", "Rest", "Meds");
-        MedicalRecordDto result = appointmentService.completeAppointment(100L, dto, appointment.getDoctor().getUser().getEmail());
+        MedicalRecordDto result = appointmentService.completeAppointment(100L, dto, doctorPrincipal);
 
         assertThat(result.getDiagnosis()).isEqualTo("Flu");
         assertThat(appointment.getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+        verify(appointmentEventOutbox).record(AppointmentEventType.COMPLETED, appointment);
     }
 
     // Tests for cancelAppointment
@@ -421,33 +647,32 @@ class AppointmentServiceTest {
     @Test
     void cancelAppointment_NotFound() {
         when(appointmentRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.cancelAppointment(99L, appointment.getPatient().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.cancelAppointment(99L, patientPrincipal))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
     void cancelAppointment_WrongStatus() {
         appointment.setStatus(AppointmentStatus.COMPLETED);
-
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getPatient().getUser()));
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
 
-        assertThatThrownBy(() -> appointmentService.cancelAppointment(100L, appointment.getPatient().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.cancelAppointment(100L, patientPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot complete appointment with" +
                         AppointmentStatus.COMPLETED + ", " +
                         AppointmentStatus.CANCELLED + " or " +
                         AppointmentStatus.NO_SHOW + " status.");
+        verifyNoInteractions(appointmentEventOutbox);
     }
 
     @Test
     void cancelAppointment_Success() {
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
         when(appointmentRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getPatient().getUser()));
 
-        AppointmentDto result = appointmentService.cancelAppointment(100L, appointment.getPatient().getUser().getEmail());
+        AppointmentDto result = appointmentService.cancelAppointment(100L, patientPrincipal);
         assertThat(result.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+        verify(appointmentEventOutbox).record(AppointmentEventType.CANCELLED, appointment);
     }
 
     // Tests for markNoShow
@@ -455,7 +680,7 @@ class AppointmentServiceTest {
     @Test
     void markNoShow_NotFound() {
         when(appointmentRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> appointmentService.markNoShow(99L, appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.markNoShow(99L, doctorPrincipal))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
@@ -463,9 +688,8 @@ class AppointmentServiceTest {
     void markNoShow_WrongStatus() {
         appointment.setStatus(AppointmentStatus.CANCELLED);
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        assertThatThrownBy(() -> appointmentService.markNoShow(100L, appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.markNoShow(100L, doctorPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot mark as NO_SHOW appointment with" +
                         AppointmentStatus.COMPLETED + ", " +
@@ -477,9 +701,8 @@ class AppointmentServiceTest {
     void markNoShow_NotFinishedYet() {
         appointment.setAppointmentTime(LocalDateTime.now().minusMinutes(10));
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        assertThatThrownBy(() -> appointmentService.markNoShow(100L, appointment.getDoctor().getUser().getEmail()))
+        assertThatThrownBy(() -> appointmentService.markNoShow(100L, doctorPrincipal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot mark appointment with " +
                         AppointmentStatus.NO_SHOW +
@@ -491,9 +714,9 @@ class AppointmentServiceTest {
         appointment.setAppointmentTime(LocalDateTime.now().minusHours(1));
         when(appointmentRepository.findById(100L)).thenReturn(Optional.of(appointment));
         when(appointmentRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(appointment.getDoctor().getUser()));
 
-        AppointmentDto result = appointmentService.markNoShow(100L, appointment.getDoctor().getUser().getEmail());
+        AppointmentDto result = appointmentService.markNoShow(100L, doctorPrincipal);
         assertThat(result.getStatus()).isEqualTo(AppointmentStatus.NO_SHOW);
+        verify(appointmentEventOutbox).record(AppointmentEventType.NO_SHOW, appointment);
     }
 }
\ No newline at end of file
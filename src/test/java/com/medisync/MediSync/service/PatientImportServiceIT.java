@@ -0,0 +1,104 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.dto.PatientImportErrorDto;
+import com.medisync.MediSync.dto.PatientImportReportDto;
+import com.medisync.MediSync.entity.Allergy;
+import com.medisync.MediSync.entity.Patient;
+import com.medisync.MediSync.entity.User;
+import com.medisync.MediSync.entity.enums.AllergyCategory;
+import com.medisync.MediSync.entity.enums.Role;
+import com.medisync.MediSync.repository.AllergyRepository;
+import com.medisync.MediSync.repository.PatientRepository;
+import com.medisync.MediSync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PatientImportServiceIT {
+
+    private static final String PASSWORD = "Str0ng!Pass";
+
+    @Autowired private PatientImportService patientImportService;
+    @Autowired private PatientRepository patientRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AllergyRepository allergyRepository;
+    @Autowired private EntityManager entityManager;
+
+    private Allergy peanuts;
+
+    @BeforeEach
+    void setUp() {
+        peanuts = allergyRepository.save(Allergy.builder()
+                .name("Peanuts")
+                .code("PNT")
+                .category(AllergyCategory.FOOD)
+                .build());
+        userRepository.save(User.builder()
+                .email("taken@test.com")
+                .password("pass")
+                .role(Role.PATIENT)
+                .isActive(true)
+                .build());
+    }
+
+    @Test
+    void importPatients_Csv_ImportsValidRowsAndReportsTheRest() {
+        String csv = String.join("\n",
+                "email,password,firstName,lastName,dateOfBirth,gender,phoneNumber,address,allergyIds",
+                row("ana@test.com", PASSWORD, "\"Ana, Maria\"", "1990-05-01", "FEMALE", String.valueOf(peanuts.getId())),
+                row("bob@test.com", PASSWORD, "Bob", "1985-01-20", "MALE", ""),
+                row("ana@test.com", PASSWORD, "Ana", "1990-05-01", "FEMALE", ""),
+                row("weak@test.com", "weak", "Weak", "1990-05-01", "FEMALE", ""),
+                row("taken@test.com", PASSWORD, "Taken", "1990-05-01", "FEMALE", ""),
+                row("allergy@test.com", PASSWORD, "Unknown", "1990-05-01", "FEMALE", "999999"));
+
+        PatientImportReportDto report = patientImportService.importPatients(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), PatientImportService.Format.CSV);
+
+        assertThat(report.getTotalRows()).isEqualTo(6);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(PatientImportErrorDto::getLine).containsExactly(4L, 5L, 6L, 7L);
+
+        entityManager.clear();
+        List<Patient> imported = patientRepository.findAll().stream()
+                .filter(patient -> patient.getUser().getEmail().endsWith("@test.com"))
+                .toList();
+        assertThat(imported).extracting(Patient::getFirstName).containsExactlyInAnyOrder("Ana, Maria", "Bob");
+        Patient ana = imported.stream().filter(patient -> patient.getFirstName().startsWith("Ana")).findFirst().orElseThrow();
+        assertThat(ana.getAllergies()).extracting(Allergy::getId).containsExactly(peanuts.getId());
+        assertThat(ana.getUser().getRole()).isEqualTo(Role.PATIENT);
+        assertThat(ana.getUser().getPassword()).isNotEqualTo(PASSWORD).startsWith("$2");
+    }
+
+    @Test
+    void importPatients_Ndjson_ReportsMalformedLines() {
+        String ndjson = String.join("\n",
+                "{\"email\":\"json@test.com\",\"password\":\"" + PASSWORD + "\",\"firstName\":\"Jay\",\"lastName\":\"Son\","
+                        + "\"dateOfBirth\":\"1992-03-04\",\"gender\":\"OTHER\",\"phoneNumber\":\"0700000000\"}",
+                "{not json");
+
+        PatientImportReportDto report = patientImportService.importPatients(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), PatientImportService.Format.NDJSON);
+
+        assertThat(report.getImportedRows()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().extracting(PatientImportErrorDto::getLine).isEqualTo(2L);
+        assertThat(userRepository.findByEmail("json@test.com")).isPresent();
+    }
+
+    private static String row(String email, String password, String firstName, String dateOfBirth, String gender,
+                              String allergyIds) {
+        return String.join(",", email, password, firstName, "Doe", dateOfBirth, gender, "0700000000", "", allergyIds);
+    }
+}
@@ -0,0 +1,59 @@
+package com.medisync.MediSync.service;
+
+import com.medisync.MediSync.service.SlotAvailabilityIndex.DayOccupancy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotTemplateTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void of_BuildsGridOfSlotStarts() {
+        SlotTemplate template = SlotTemplate.of(LocalTime.of(9, 0), LocalTime.of(10, 40), 30);
+
+        assertThat(template.slotCount()).isEqualTo(3);
+        assertThat(template.timeOf(2)).isEqualTo(LocalTime.of(10, 0));
+        assertThat(template.indexOf(LocalTime.of(9, 30))).isEqualTo(1);
+        assertThat(template.indexOf(LocalTime.of(9, 15))).isEqualTo(-1);
+        assertThat(template.indexOf(LocalTime.of(10, 30))).isEqualTo(-1);
+        assertThat(template.firstSlotNotBefore(LocalTime.of(9, 0, 1))).isEqualTo(1);
+        assertThat(template.firstSlotNotBefore(LocalTime.of(11, 0))).isEqualTo(3);
+    }
+
+    @Test
+    void availableSlots_SkipsBookedSlotsAcrossBitmapWords() {
+        // 15 minute slots around the clock: 96 slots, spread over two 64-bit words.
+        SlotTemplate template = SlotTemplate.of(LocalTime.MIDNIGHT, LocalTime.of(23, 59), 15);
+        LocalTime lastSlotOfFirstWord = template.timeOf(63);
+        LocalTime firstSlotOfSecondWord = template.timeOf(64);
+
+        DayOccupancy day = DayOccupancy.of(template, List.of(
+                LocalDateTime.of(DATE, lastSlotOfFirstWord),
+                LocalDateTime.of(DATE, firstSlotOfSecondWord)
+        ));
+
+        assertThat(template.slotCount()).isEqualTo(95);
+        assertThat(day.availableSlots(LocalTime.of(15, 30), 3))
+                .containsExactly(LocalTime.of(15, 30), LocalTime.of(16, 15), LocalTime.of(16, 30));
+        assertThat(day.availableSlots(null)).hasSize(93);
+
+        day.mark(firstSlotOfSecondWord, false);
+
+        assertThat(day.availableSlots(LocalTime.of(15, 46), 1)).containsExactly(firstSlotOfSecondWord);
+    }
+
+    @Test
+    void notWorking_HasNoSlots() {
+        DayOccupancy day = DayOccupancy.notWorking();
+
+        assertThat(day.isWorking()).isFalse();
+        assertThat(day.availableSlots(null)).isEmpty();
+    }
+}